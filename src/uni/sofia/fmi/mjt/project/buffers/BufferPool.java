@@ -0,0 +1,130 @@
+package uni.sofia.fmi.mjt.project.buffers;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BufferPool {
+    private static final int MIN_CLASS_SIZE = 2048;
+    private static final int CLASS_SIZE_STEP = 4;
+    private static final int CLASSES_COUNT = 6;
+    private static final long MAX_FREE_BYTES_PER_CLASS = 8L << 20;
+    private static final int MIN_FREE_BUFFERS_PER_CLASS = 2;
+    private static final int UNPOOLED = -1;
+    private static final BufferPool SHARED = new BufferPool();
+    private final int[] classSizes;
+    private final int[] maxFreeBuffers;
+    private final Queue<ByteBuffer>[] freeBuffers;
+    private final Set<ByteBuffer>[] freeIdentities;
+    private final AtomicInteger[] freeCounts;
+    private final AtomicInteger leased;
+    private final AtomicInteger highWaterMark;
+    private final AtomicInteger unpooledAllocations;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BufferPool() {
+        classSizes = new int[CLASSES_COUNT];
+        maxFreeBuffers = new int[CLASSES_COUNT];
+        freeBuffers = new Queue[CLASSES_COUNT];
+        freeIdentities = new Set[CLASSES_COUNT];
+        freeCounts = new AtomicInteger[CLASSES_COUNT];
+
+        int size = MIN_CLASS_SIZE;
+        for (int i = 0; i < CLASSES_COUNT; i++, size *= CLASS_SIZE_STEP) {
+            classSizes[i] = size;
+            maxFreeBuffers[i] = (int) Math.max(MIN_FREE_BUFFERS_PER_CLASS, MAX_FREE_BYTES_PER_CLASS / size);
+            freeBuffers[i] = new ConcurrentLinkedQueue<>();
+            freeIdentities[i] = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+            freeCounts[i] = new AtomicInteger();
+        }
+
+        leased = new AtomicInteger();
+        highWaterMark = new AtomicInteger();
+        unpooledAllocations = new AtomicInteger();
+    }
+
+    public static BufferPool shared() {
+        return SHARED;
+    }
+
+    public ByteBuffer lease(int minCapacity) {
+        int sizeClass = classOf(minCapacity);
+
+        if (sizeClass == UNPOOLED) {
+            unpooledAllocations.incrementAndGet();
+
+            return ByteBuffer.allocateDirect(minCapacity);
+        }
+
+        ByteBuffer buffer = freeBuffers[sizeClass].poll();
+
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(classSizes[sizeClass]);
+        } else {
+            freeIdentities[sizeClass].remove(buffer);
+            freeCounts[sizeClass].decrementAndGet();
+        }
+
+        int nowLeased = leased.incrementAndGet();
+        highWaterMark.accumulateAndGet(nowLeased, Math::max);
+
+        return buffer.clear().limit(minCapacity);
+    }
+
+    /**
+     * Takes the ownership of the leased buffer back: it must be released exactly once and not used after that.
+     * A buffer, that is already free, is ignored, so a second release can't hand it to two leases
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) {
+            return;
+        }
+
+        int sizeClass = exactClassOf(buffer.capacity());
+
+        if (sizeClass == UNPOOLED || !freeIdentities[sizeClass].add(buffer)) {
+            return;
+        }
+
+        leased.updateAndGet(count -> Math.max(count - 1, 0));
+
+        if (freeCounts[sizeClass].incrementAndGet() > maxFreeBuffers[sizeClass]) {
+            freeCounts[sizeClass].decrementAndGet();
+            freeIdentities[sizeClass].remove(buffer);
+            return;
+        }
+
+        freeBuffers[sizeClass].add(buffer.clear());
+    }
+
+    public Metrics metrics() {
+        int free = 0;
+
+        for (AtomicInteger count : freeCounts) {
+            free += count.get();
+        }
+
+        return new Metrics(leased.get(), free, highWaterMark.get(), unpooledAllocations.get());
+    }
+
+    private int classOf(int capacity) {
+        for (int i = 0; i < CLASSES_COUNT; i++) {
+            if (capacity <= classSizes[i]) {
+                return i;
+            }
+        }
+
+        return UNPOOLED;
+    }
+    private int exactClassOf(int capacity) {
+        int sizeClass = classOf(capacity);
+
+        return (sizeClass != UNPOOLED && classSizes[sizeClass] == capacity) ? sizeClass : UNPOOLED;
+    }
+
+    public record Metrics(int leased, int free, int highWaterMark, int unpooledAllocations) { }
+}
@@ -1,115 +1,199 @@
-package uni.sofia.fmi.mjt.project.client;
-
-import uni.sofia.fmi.mjt.project.exceptions.StackTraceConverter;
-
-import static uni.sofia.fmi.mjt.project.validators.StringValidator.validate;
-
-import java.io.BufferedWriter;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.io.Writer;
-import java.net.InetSocketAddress;
-import java.nio.ByteBuffer;
-import java.nio.channels.SocketChannel;
-import java.nio.charset.StandardCharsets;
-import java.util.Scanner;
-
-public class Client {
-    private static final int SERVER_PORT = 1337;
-    private static final String SERVER_HOST = "localhost";
-    private static final int BUFFER_SIZE = 2048;
-    private static final String LOGGER_FILE_NAME = "Logger.txt";
-    private static Writer writer;
-    private static ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
-    private static final String TERMINAL_MESSAGE = "terminate";
-    private static final String WRONG_FORMAT_INPUT_MESSAGE = """
-            {Command sent by client need to have at least one 
-            character excluding (\" \") - whitespace character. 
-            Please, follow the input format. Type \"help\" for more information} """;
-    private static final String DISCONNECTION_FROM_THE_SERVER_MESSAGE = """
-            {Server is not responding/shutted down at the moment.
-            Please, restart the program or contact the service provider} """;
-
-    public static void main(String[] args) {
-        int localPort = 0;
-
-        try (SocketChannel socketChannel = SocketChannel.open();
-             Scanner scanner = new Scanner(System.in)) {
-
-            socketChannel.connect(new InetSocketAddress(SERVER_HOST, SERVER_PORT));
-            localPort = socketChannel.socket().getLocalPort();
-
-            System.out.println("<Successfully connected to the server>");
-            System.out.println("-> Type \"help\" for getting more information of allowed commands/format\n");
-
-            while (true) {
-                System.out.print("> ");
-                String command = scanner.nextLine();
-
-                try {
-                    validate(command, "command");
-                } catch (IllegalArgumentException e) {
-                    writeErrorToFile(StackTraceConverter
-                            .getStackTrace(e, localPort, WRONG_FORMAT_INPUT_MESSAGE));
-
-                    System.err.println(WRONG_FORMAT_INPUT_MESSAGE + '\n');
-                    continue;
-                }
-
-                if (command.equals(TERMINAL_MESSAGE)) {
-                    break;
-                }
-
-                writeMessageToBuffer(command, buffer);
-                writeBufferToSocketChannel(buffer, socketChannel);
-
-                readFromSocketChannelToBuffer(buffer, socketChannel);
-
-                System.out.printf("Server reply: %s\n\n", getServerResponse(buffer));
-            }
-
-        } catch (IOException e) {
-            writeErrorToFile(StackTraceConverter
-                    .getStackTrace(e, localPort, DISCONNECTION_FROM_THE_SERVER_MESSAGE));
-
-            System.err.println(DISCONNECTION_FROM_THE_SERVER_MESSAGE);
-        }
-    }
-
-    private static void writeErrorToFile(String message) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(LOGGER_FILE_NAME, true))) {
-            writer.write(message);
-
-            writer.flush();
-        } catch (IOException e) {
-            System.err.printf("{Can't write to the file <%s>\n<%s>\n}"
-                    , LOGGER_FILE_NAME, e.getMessage());
-        }
-    }
-    private static void writeMessageToBuffer(String message, ByteBuffer buffer) {
-        buffer.clear();
-        buffer.put(message.getBytes());
-    }
-    private static void writeBufferToSocketChannel(ByteBuffer buffer, SocketChannel socketChannel)
-            throws IOException {
-
-        buffer.flip();
-        socketChannel.write(buffer);
-    }
-    private static void readFromSocketChannelToBuffer(ByteBuffer buffer, SocketChannel socketChannel)
-            throws IOException {
-
-        buffer.clear();
-        socketChannel.read(buffer);
-        buffer.flip();
-    }
-    private static String getServerResponse(ByteBuffer buffer)
-            throws UnsupportedEncodingException {
-
-        byte[] byteArray = new byte[buffer.remaining()];
-        buffer.get(byteArray);
-
-        return new String(byteArray, StandardCharsets.UTF_8);
-    }
-}
+package uni.sofia.fmi.mjt.project.client;
+
+import uni.sofia.fmi.mjt.project.buffers.BufferPool;
+import uni.sofia.fmi.mjt.project.exceptions.StackTraceConverter;
+import uni.sofia.fmi.mjt.project.protocol.BinaryProtocol;
+import uni.sofia.fmi.mjt.project.protocol.FrameCodec;
+import uni.sofia.fmi.mjt.project.protocol.TextProtocol;
+
+import static uni.sofia.fmi.mjt.project.validators.StringValidator.validate;
+
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+
+public class Client {
+    private static final int SERVER_PORT = 1337;
+    private static final String SERVER_HOST = "localhost";
+    private static final String LOGGER_FILE_NAME = "Logger.txt";
+    private static Writer writer;
+    private static ByteBuffer header = ByteBuffer.allocate(FrameCodec.HEADER_SIZE);
+    private static final String TERMINAL_MESSAGE = "terminate";
+    private static final String BINARY_OPTION = "--binary";
+    private static final String OPTION_PREFIX = "--";
+    private static final int PIPELINE_WINDOW = 128;
+    private static final TextProtocol TEXT_PROTOCOL = new TextProtocol();
+    private static final BinaryProtocol BINARY_PROTOCOL = new BinaryProtocol();
+    private static boolean binary;
+    private static final String WRONG_FORMAT_INPUT_MESSAGE = """
+            {Command sent by client need to have at least one 
+            character excluding (\" \") - whitespace character. 
+            Please, follow the input format. Type \"help\" for more information} """;
+    private static final String DISCONNECTION_FROM_THE_SERVER_MESSAGE = """
+            {Server is not responding/shutted down at the moment.
+            Please, restart the program or contact the service provider} """;
+
+    public static void main(String[] args) {
+        int localPort = 0;
+
+        try (SocketChannel socketChannel = SocketChannel.open();
+             Scanner scanner = new Scanner(System.in)) {
+
+            socketChannel.connect(new InetSocketAddress(SERVER_HOST, SERVER_PORT));
+            localPort = socketChannel.socket().getLocalPort();
+
+            System.out.println("<Successfully connected to the server>");
+
+            binary = Arrays.asList(args).contains(BINARY_OPTION);
+            if (binary) {
+                negotiateBinaryProtocol(socketChannel);
+            }
+
+            List<String> scripts = Arrays.stream(args).filter(arg -> !arg.startsWith(OPTION_PREFIX)).toList();
+            if (!scripts.isEmpty()) {
+                runScript(socketChannel, Path.of(scripts.get(0)));
+                return;
+            }
+
+            System.out.println("-> Type \"help\" for getting more information of allowed commands/format\n");
+
+            while (true) {
+                System.out.print("> ");
+                String command = scanner.nextLine();
+
+                try {
+                    validate(command, "command");
+                } catch (IllegalArgumentException e) {
+                    writeErrorToFile(StackTraceConverter
+                            .getStackTrace(e, localPort, WRONG_FORMAT_INPUT_MESSAGE));
+
+                    System.err.println(WRONG_FORMAT_INPUT_MESSAGE + '\n');
+                    continue;
+                }
+
+                if (command.equals(TERMINAL_MESSAGE)) {
+                    break;
+                }
+
+                ByteBuffer frame;
+                try {
+                    frame = encodeCommand(command);
+                } catch (RuntimeException e) {
+                    System.err.println(e.getMessage() + '\n');
+                    continue;
+                }
+
+                FrameCodec.writeFully(socketChannel, frame);
+                BufferPool.shared().release(frame);
+
+                System.out.printf("Server reply: %s\n\n", getServerResponse(readReply(socketChannel)));
+            }
+
+        } catch (IOException e) {
+            writeErrorToFile(StackTraceConverter
+                    .getStackTrace(e, localPort, DISCONNECTION_FROM_THE_SERVER_MESSAGE));
+
+            System.err.println(DISCONNECTION_FROM_THE_SERVER_MESSAGE);
+        }
+    }
+
+    private static void writeErrorToFile(String message) {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(LOGGER_FILE_NAME, true))) {
+            writer.write(message);
+
+            writer.flush();
+        } catch (IOException e) {
+            System.err.printf("{Can't write to the file <%s>\n<%s>\n}"
+                    , LOGGER_FILE_NAME, e.getMessage());
+        }
+    }
+    private static void negotiateBinaryProtocol(SocketChannel socketChannel) throws IOException {
+        ByteBuffer handshake = BinaryProtocol.handshake();
+        ByteBuffer frame = FrameCodec.encode(handshake);
+        BufferPool.shared().release(handshake);
+
+        FrameCodec.writeFully(socketChannel, frame);
+        BufferPool.shared().release(frame);
+
+        System.out.printf("Server reply: %s\n", getServerResponse(readReply(socketChannel)));
+    }
+    private static ByteBuffer encodeCommand(String command) {
+        if (!binary) {
+            return FrameCodec.encode(command);
+        }
+
+        ByteBuffer payload = BINARY_PROTOCOL.encodeRequest(TEXT_PROTOCOL.parse(command));
+        ByteBuffer frame = FrameCodec.encode(payload);
+        BufferPool.shared().release(payload);
+
+        return frame;
+    }
+    private static void runScript(SocketChannel socketChannel, Path script) throws IOException {
+        List<String> commands = Files.readAllLines(script).stream()
+                .filter(line -> !line.isBlank())
+                .toList();
+
+        for (int from = 0; from < commands.size(); from += PIPELINE_WINDOW) {
+            List<String> window = commands.subList(from, Math.min(from + PIPELINE_WINDOW, commands.size()));
+            List<String> sent = new ArrayList<>();
+            List<ByteBuffer> frames = new ArrayList<>();
+
+            for (String command : window) {
+                try {
+                    frames.add(encodeCommand(command));
+                    sent.add(command);
+                } catch (RuntimeException e) {
+                    System.err.printf("> %s\nSkipped: %s\n\n", command, e.getMessage());
+                }
+            }
+
+            ByteBuffer[] gathered = frames.toArray(ByteBuffer[]::new);
+            while (gathered.length > 0 && gathered[gathered.length - 1].hasRemaining()) {
+                socketChannel.write(gathered);
+            }
+            frames.forEach(BufferPool.shared()::release);
+
+            for (String command : sent) {
+                System.out.printf("> %s\nServer reply: %s\n\n", command, getServerResponse(readReply(socketChannel)));
+            }
+        }
+    }
+    private static ByteBuffer readReply(SocketChannel socketChannel) throws IOException {
+        ByteBuffer payload = FrameCodec.readReply(socketChannel, header);
+
+        if (payload == null) {
+            throw new EOFException("{Server closed the connection}");
+        }
+
+        return payload;
+    }
+    private static String getServerResponse(ByteBuffer buffer)
+            throws UnsupportedEncodingException {
+
+        if (binary) {
+            String reply = TEXT_PROTOCOL.render(BINARY_PROTOCOL.decodeReply(buffer));
+            BufferPool.shared().release(buffer);
+
+            return reply;
+        }
+
+        byte[] byteArray = new byte[buffer.remaining()];
+        buffer.get(byteArray);
+        BufferPool.shared().release(buffer);
+
+        return new String(byteArray, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,92 @@
+package uni.sofia.fmi.mjt.project.commands;
+
+import uni.sofia.fmi.mjt.project.user.Collaboration;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public class Arguments {
+    private static final int NOT_FOUND = -1;
+    private final Command command;
+    private final List<String> keys;
+    private final Object[] values;
+    private Collaboration collaboration;
+
+    public Arguments(Command command, List<String> keys, Object[] values) {
+        this.command = command;
+        this.keys = keys;
+        this.values = values;
+    }
+
+    public Command getCommand() {
+        return command;
+    }
+
+    public CommandType getType() {
+        return command.type();
+    }
+
+    public String getCommandName() {
+        return command.name();
+    }
+
+    public boolean isEmpty() {
+        for (Object value : values) {
+            if (value != null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean has(String key) {
+        return valueOf(key) != null;
+    }
+
+    public String getString(String key) {
+        return (String) valueOf(key);
+    }
+
+    public LocalDate getDate(String key) {
+        return (LocalDate) valueOf(key);
+    }
+
+    public Optional<LocalDate> findDate(String key) {
+        return Optional.ofNullable(getDate(key));
+    }
+
+    public int getNumber(String key) {
+        return (Integer) valueOf(key);
+    }
+
+    /**
+     * Collaboration, that was found and checked once while authorizing the command. Handlers use this reference
+     * instead of looking the Collaboration up again, so its concurrent deletion can't leave them without it
+     *
+     * @return Collaboration stated by the command or null when the command doesn't need a membership
+     */
+    public Collaboration getCollaboration() {
+        return collaboration;
+    }
+
+    void setCollaboration(Collaboration collaboration) {
+        this.collaboration = collaboration;
+    }
+
+    private Object valueOf(String key) {
+        int index = indexOf(key);
+
+        return (index == NOT_FOUND) ? null : values[index];
+    }
+    private int indexOf(String key) {
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i).equals(key)) {
+                return i;
+            }
+        }
+
+        return NOT_FOUND;
+    }
+}
@@ -0,0 +1,5 @@
+package uni.sofia.fmi.mjt.project.commands;
+
+public enum AuthLevel {
+    ANONYMOUS, LOGGED_IN, MEMBER, OWNER
+}
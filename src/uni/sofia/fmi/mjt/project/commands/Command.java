@@ -1,5 +1,13 @@
-package uni.sofia.fmi.mjt.project.commands;
-
-import java.util.Map;
-
-public record Command(String name, Map<String, String> args) { }
\ No newline at end of file
+package uni.sofia.fmi.mjt.project.commands;
+
+import java.util.Map;
+
+/**
+ * Command with its stated parameters. Text syntax states every value as text, while binary protocol states dates
+ * and numbers already decoded (LocalDate and Integer), so they aren't turned into text and parsed again
+ */
+public record Command(CommandType type, String name, Map<String, ?> args) {
+    public Command(String name, Map<String, ?> args) {
+        this(CommandType.fromName(name), name, args);
+    }
+}
@@ -0,0 +1,5 @@
+package uni.sofia.fmi.mjt.project.commands;
+
+import uni.sofia.fmi.mjt.project.validators.CommandSchema;
+
+public record CommandDescriptor(AuthLevel authLevel, CommandSchema schema, CommandHandler handler) { }
@@ -1,15 +1,21 @@
-package uni.sofia.fmi.mjt.project.commands;
-
-public abstract class CommandElements {
-    public static final String USER_NAME = "name";
-    public static final String USER_PASSWORD = "password";
-    public static final String TASK_NAME = USER_NAME;
-    public static final String COLLABORATION_NAME = USER_NAME;
-    public static final String TASK_DATE = "date";
-    public static final String TASK_DUE_DATE = "due-date";
-    public static final String TASK_DESCRIPTION = "description";
-    public static final String TASK_FLAG_COMPLETED = "completed";
-    public static final String TASK_CUR_DATE = "cur-date";
-    public static final String COLLABORATION = "collaboration";
-    public static final String ASSIGNEE = "assignee";
-}
+package uni.sofia.fmi.mjt.project.commands;
+
+public abstract class CommandElements {
+    public static final String USER_NAME = "name";
+    public static final String USER_PASSWORD = "password";
+    public static final String TASK_NAME = USER_NAME;
+    public static final String COLLABORATION_NAME = USER_NAME;
+    public static final String TASK_DATE = "date";
+    public static final String TASK_DUE_DATE = "due-date";
+    public static final String TASK_DESCRIPTION = "description";
+    public static final String TASK_FLAG_COMPLETED = "completed";
+    public static final String TASK_CUR_DATE = "cur-date";
+    public static final String FROM_DATE = "from";
+    public static final String TO_DATE = "to";
+    public static final String WITHIN_DAYS = "within";
+    public static final String QUERY = "query";
+    public static final String LIMIT = "limit";
+    public static final String CURSOR = "cursor";
+    public static final String COLLABORATION = "collaboration";
+    public static final String ASSIGNEE = "assignee";
+}
@@ -1,26 +1,67 @@
-package uni.sofia.fmi.mjt.project.commands;
-
-import java.nio.ByteBuffer;
-import uni.sofia.fmi.mjt.project.exceptions.AlreadyExistedException;
-import uni.sofia.fmi.mjt.project.exceptions.InvalidParametersException;
-import uni.sofia.fmi.mjt.project.exceptions.NotFoundException;
-
-public interface CommandExecuterAPI {
-
-    /**
-     * Method that accepts a ByteBuffer with written command in it from Client. Then it parse command to Command
-     * instance. After that for every possible cays of input the checks start. Passing the validation, command
-     * can be executed
-     *
-     * @param buffer Collection, that keeps Client's command till it will be read by Server
-     * @param remotePort unique port-identificator of every started session of the program
-     * @return ByteBuffer instance that contains Server reply for sent Client's command
-     * @throws IOException when Client was disconnected Server tries to read command from it and reverse
-     * @throws AlreadyExistedException when Client try to add already existed account/task/collaboration
-     * @throws IllegalArgumentException when String in null/empty/blank
-     * @throws InvalidParametersException when count of parameters > maximum allowed for the command
-     * or is less than minimum allowed for the command
-     * @throws NotFoundException when Client instance wasn't find among registered Users
-     */
-    ByteBuffer execute(ByteBuffer buffer, int remotePort);
-}
+package uni.sofia.fmi.mjt.project.commands;
+
+import java.nio.ByteBuffer;
+import uni.sofia.fmi.mjt.project.protocol.ChunkedReply;
+import uni.sofia.fmi.mjt.project.exceptions.AlreadyExistedException;
+import uni.sofia.fmi.mjt.project.exceptions.InvalidParametersException;
+import uni.sofia.fmi.mjt.project.exceptions.NotFoundException;
+
+public interface CommandExecuterAPI {
+
+    /**
+     * Method that accepts a ByteBuffer with written command in it from Client. Then it parse command to Command
+     * instance. After that for every possible cays of input the checks start. Passing the validation, command
+     * can be executed. Frame that starts with zero byte is a handshake that switches the session to
+     * BinaryProtocol, otherwise commands and replies use the text syntax
+     *
+     * @param buffer Collection, that keeps Client's command till it will be read by Server
+     * @param remotePort unique port-identificator of every started session of the program
+     * @return ByteBuffer instance that contains Server reply for sent Client's command. It is leased from
+     * BufferPool, so the caller should release it after the reply is sent
+     * @throws IOException when Client was disconnected Server tries to read command from it and reverse
+     * @throws AlreadyExistedException when Client try to add already existed account/task/collaboration
+     * @throws InvalidParametersException when count of parameters > maximum allowed for the command
+     * or is less than minimum allowed for the command, when value is null/empty/blank or is logically wrong
+     * @throws NotFoundException when Client instance wasn't find among registered Users
+     */
+    ByteBuffer execute(ByteBuffer buffer, int remotePort);
+
+    /**
+     * Executes Client's command the same way as execute, but its reply isn't encoded at once. It is encoded
+     * lazily into a chain of chunk frames, while they are requested one by one, so memory taken by one reply
+     * at a time is bounded by the size of one chunk frame
+     *
+     * @param buffer Collection, that keeps Client's command till it will be read by Server
+     * @param remotePort unique port-identificator of every started session of the program
+     * @return ChunkedReply, that produces ready to be sent frames of the Server reply
+     */
+    ChunkedReply executeChunked(ByteBuffer buffer, int remotePort);
+
+    /**
+     * Encodes a plain message for the session with stated port in the protocol of that session. It is used
+     * when commands of the session couldn't be executed at all, e.g. they were rejected while the Server
+     * is shutting down
+     *
+     * @param message text of the reply
+     * @param remotePort unique port-identificator of every started session of the program
+     * @return ChunkedReply, that produces ready to be sent frames of the message
+     */
+    ChunkedReply replyMessage(String message, int remotePort);
+
+    /**
+     * Finds name of the User that is logged in from the session with stated port. Commands of one
+     * User can be ordered by that name even when they come from different sessions
+     *
+     * @param remotePort unique port-identificator of every started session of the program
+     * @return name of logged in User or null when session isn't logged in any account
+     */
+    String getSessionOwner(int remotePort);
+
+    /**
+     * Ends the session with stated port after its Client disconnected or was idle for too long.
+     * User logged in from that session (if any) is logged out
+     *
+     * @param remotePort unique port-identificator of every started session of the program
+     */
+    void closeSession(int remotePort);
+}
@@ -1,365 +1,511 @@
-package uni.sofia.fmi.mjt.project.commands;
-
-import uni.sofia.fmi.mjt.project.exceptions.AlreadyExistedException;
-import uni.sofia.fmi.mjt.project.exceptions.IllegalAccessException;
-import uni.sofia.fmi.mjt.project.exceptions.InvalidParametersException;
-import uni.sofia.fmi.mjt.project.exceptions.NotFoundException;
-import uni.sofia.fmi.mjt.project.exceptions.StackTraceConverter;
-import uni.sofia.fmi.mjt.project.user.Collaboration;
-import uni.sofia.fmi.mjt.project.user.Task;
-import uni.sofia.fmi.mjt.project.user.User;
-import uni.sofia.fmi.mjt.project.validators.CommandValidator;
-
-import java.io.BufferedWriter;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.Serializable;
-import java.nio.ByteBuffer;
-import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
-
-import static uni.sofia.fmi.mjt.project.commands.CommandElements.TASK_DATE;
-import static uni.sofia.fmi.mjt.project.commands.CommandElements.TASK_DESCRIPTION;
-import static uni.sofia.fmi.mjt.project.commands.CommandElements.TASK_DUE_DATE;
-import static uni.sofia.fmi.mjt.project.commands.CommandElements.TASK_NAME;
-
-public class CommandExecutor implements Serializable, CommandExecuterAPI {
-    private Map<Integer, User> loginUsers;
-    private Set<User> users;
-    private Set<Collaboration> collaborations;
-    private Map<String, Set<String>> userCollaborations;
-    private static final String UNDEFINED_COMMAND_MESSAGE =
-            "{There is no command <%s> with such name through available for users}";
-    private static final int BUFFER_SIZE = 2048;
-    private static final String LOGGER_FILE_NAME = "Logger.txt";
-    private static final ByteBuffer TEMP_BUFFER = ByteBuffer.allocateDirect(BUFFER_SIZE);
-    private static final Object UNINITIALIZED = null;
-    private static final String NEW_COMMAND_SYMBOL = "#";
-    private static final String COMMAND_VALUE_DELIMITER = ":";
-    private static final String EMPTY_COMMAND = "";
-
-    public CommandExecutor() {
-        if (loginUsers == UNINITIALIZED) {
-            loginUsers = new HashMap<>();
-        }
-        if (users == UNINITIALIZED) {
-            users = new HashSet<>();
-        }
-        if (collaborations == UNINITIALIZED) {
-            collaborations = new HashSet<>();
-        }
-        if (userCollaborations == UNINITIALIZED) {
-            userCollaborations = new HashMap<>();
-        }
-    }
-
-    @Override
-    public ByteBuffer execute(ByteBuffer buffer, int remotePort) {
-        Command command = (Command) UNINITIALIZED;
-
-        try {
-            String message = getMessageFromBuffer(buffer);
-            command = parseClientInput(message);
-
-            putMessageToBuffer(buffer, String.format(UNDEFINED_COMMAND_MESSAGE, command.name()));
-            CommandValidator.validateWithTemplate(command);
-
-            return switch(command.name()) {
-                case Commands.REGISTRATION -> processRegisterCommand(command, remotePort);
-                case Commands.HELP -> putMessageToBuffer(buffer, InputRules.HELP_INFO);
-                case Commands.LOGIN -> processLoginCommand(command, remotePort);
-                case Commands.LOGOUT -> processLogoutCommand(remotePort);
-                case Commands.HELP_TASK -> putMessageToBuffer(buffer, InputRules.HELP_TASK_INFO);
-                case Commands.HELP_COLLABORATION -> putMessageToBuffer(buffer, InputRules.HELP_COLLABORATION_INFO);
-                case Commands.ADD_TASK, Commands.UPDATE_TASK, Commands.DELETE_TASK,
-                        Commands.GET_TASK, Commands.LIST_TASKS, Commands.FINISH_TASK
-                        , Commands.LIST_DASHBOARD -> processTaskCommand(command, remotePort);
-                case Commands.ADD_COLLABORATION, Commands.LIST_COLLABORATIONS
-                        -> processCollaborationCommandWithoutMembership(command, remotePort);
-                case Commands.DELETE_COLLABORATION, Commands.COLLABORATION_ADD_USER
-                        , Commands.COLLABORATION_ADD_TASK, Commands.COLLABORATION_LIST_TASKS
-                        , Commands.COLLABORATION_LIST_USERS
-                        -> processCollaborationCommandWithMembership(command, remotePort);
-                default -> buffer;
-            };
-        } catch (Throwable e) {
-            writeErrorToFile(StackTraceConverter.getStackTrace(e, remotePort
-                    , String.format("Command to be execute: <%s>", command.name())));
-
-            return putMessageToBuffer(buffer, e.getMessage());
-        }
-    }
-
-    private static void writeErrorToFile(String message) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(LOGGER_FILE_NAME, true))) {
-            writer.write(message);
-
-            writer.flush();
-        } catch (IOException e) {
-            System.err.printf("{Can't write to the file <%s>\n<%s>\n}"
-                    , LOGGER_FILE_NAME, e.getMessage());
-        }
-    }
-    private Command parseClientInput(String input) {
-        List<String> res = new ArrayList<>(Arrays.stream(input.split(NEW_COMMAND_SYMBOL))
-                                                .map(String::strip)
-                                                .distinct()
-                                                .toList());
-        String fCtion = EMPTY_COMMAND;
-
-        if (!res.isEmpty()) {
-            fCtion = res.get(0);
-            res.remove(0);
-        }
-
-        Map<String, String> params = res.stream()
-                .map(s -> s.split(COMMAND_VALUE_DELIMITER))
-                .collect(Collectors
-                        .toMap(a -> (a.length > 0) ? a[0] : EMPTY_COMMAND
-                                , a -> (a.length > 1) ? a[1] : EMPTY_COMMAND));
-
-        return new Command(fCtion, params);
-    }
-    private String getMessageFromBuffer(ByteBuffer buffer) {
-        byte[] bytes = new byte[buffer.remaining()];
-
-        buffer.get(bytes);
-        return new String(bytes);
-    }
-    private ByteBuffer processRegisterCommand(Command command, int remotePort) {
-        User toAdd = new User(command.args().get(CommandElements.USER_NAME)
-                , command.args().get(CommandElements.USER_PASSWORD));
-
-        if (loginUsers.containsKey(remotePort)) {
-            throw new IllegalAccessException("{User can't perform register" +
-                    " operations while is logged in. Please, logout and try again}");
-        }
-
-        if (users.contains(toAdd)) {
-            throw new AlreadyExistedException(String.format("{User with name <%s> " +
-                    "is already registered in system. Please, choose another name}", toAdd.getName()));
-        }
-        users.add(toAdd);
-
-        System.out.printf("-> {new User <name:%s, password:%s> was added to system}\n"
-                , toAdd.getName(), toAdd.getPassword());
-
-        return putMessageToBuffer(TEMP_BUFFER, "{New User was added successfully." +
-                "Now you can log in}\n");
-    }
-    private ByteBuffer putMessageToBuffer(ByteBuffer buffer, String message) {
-        buffer.clear();
-        buffer.put(message.getBytes());
-        buffer.flip();
-
-        return buffer;
-    }
-    private ByteBuffer processLoginCommand(Command command, int remotePort) {
-        if (loginUsers.containsKey(remotePort)) {
-            throw new IllegalAccessException("{User is already logged in some account}");
-        }
-
-        User fromCommand = new User(command.args().get(CommandElements.USER_NAME)
-                , command.args().get(CommandElements.USER_PASSWORD));
-
-        if (!users.contains(fromCommand)) {
-            throw new NotFoundException("{Undefined User account" +
-                    ". In system there is no registered User named <" + fromCommand.getName() + "> }");
-        }
-
-        User toAdd = users.stream().filter(u -> u.getName().equals(fromCommand.getName()))
-                .findFirst().get();
-
-        if (!toAdd.getPassword().equals(fromCommand.getPassword())) {
-            throw new InvalidParametersException("{Unable to log in. Wrong password. Please, try again}");
-        }
-
-        loginUsers.put(remotePort, toAdd);
-
-        System.out.printf("-> {Client <%d> was logged in User account %s}\n", remotePort, toAdd);
-        return putMessageToBuffer(TEMP_BUFFER
-                , "{Successfully logged in. Now you can perform operations with your account}");
-    }
-    private ByteBuffer processLogoutCommand(int remotePort) {
-        if (!loginUsers.containsKey(remotePort)) {
-            throw new IllegalAccessException("{User isn't logged in any account to be logged out}");
-        }
-
-        User logOut = loginUsers.remove(remotePort);
-        System.out.printf("-> {Client <%d> was logged out from %s}\n", remotePort, logOut);
-
-        return putMessageToBuffer(TEMP_BUFFER
-                , "{Successfully logged out from the account}");
-    }
-    private ByteBuffer processTaskCommand(Command command, int remotePort) {
-        if (!loginUsers.containsKey(remotePort)) {
-            throw new IllegalAccessException("{User isn't logged in any account to perform "
-                    + command.name() + "}");
-        }
-
-        return loginUsers.get(remotePort).executeTaskCommand(command);
-    }
-    private ByteBuffer processCollaborationCommandWithoutMembership(Command command, int remotePort) {
-        if (!loginUsers.containsKey(remotePort)) {
-            throw new IllegalAccessException("{User isn't logged in any account to perform "
-                    + command.name() + "}");
-        }
-
-        return switch(command.name()) {
-            case Commands.ADD_COLLABORATION -> processAddCollaboration(command, remotePort);
-            case Commands.LIST_COLLABORATIONS -> processListCollaborations(remotePort);
-            default -> null;
-        };
-    }
-    private ByteBuffer processAddCollaboration(Command command, int remotePort) {
-        String nameCollab = command.args().get(CommandElements.COLLABORATION_NAME);
-
-        if (collaborations.contains(new Collaboration(nameCollab, null))) {
-            throw new AlreadyExistedException(String.format("{Can't create new Collaboration" +
-                    ". Already existed Collaboration named <%s>}"
-                    , nameCollab));
-        }
-
-        String creator = loginUsers.get(remotePort).getName();
-
-        collaborations.add(new Collaboration(nameCollab, creator));
-        userCollaborations.putIfAbsent(creator, new HashSet<>());
-        userCollaborations.get(creator).add(nameCollab);
-
-        System.out.printf("-> {Successfully created Collaboration{name:<%s>, creator:<%s>} }\n",
-                nameCollab, creator);
-
-        return putMessageToBuffer(TEMP_BUFFER, "{Successfully created Collaboration}");
-    }
-    private ByteBuffer processListCollaborations(int remotePort) {
-        String userName = loginUsers.get(remotePort).getName();
-
-        if (!userCollaborations.containsKey(userName)) {
-            return putMessageToBuffer(TEMP_BUFFER, Collections.emptyList().toString());
-        }
-
-        return putMessageToBuffer(TEMP_BUFFER, userCollaborations.get(userName).toString());
-    }
-    private ByteBuffer processCollaborationCommandWithMembership(Command command, int remotePort) {
-        if (!loginUsers.containsKey(remotePort)) {
-            throw new IllegalAccessException("{User isn't logged in any account to perform "
-                    + command.name() + "}");
-        }
-
-        String nameCollab = command.args().get(CommandElements.COLLABORATION);
-
-        if (!collaborations.contains(new Collaboration(nameCollab, null))) {
-            throw new NotFoundException(String.format("{Collaboration named <%s> wasn't find}", nameCollab));
-        }
-
-        if (!getCollaboration(nameCollab).isMember(loginUsers.get(remotePort).getName())) {
-            throw new IllegalAccessException(String.format("Logged User name <%s> isn't" +
-                    " member of Collaboration named <%s>", loginUsers.get(remotePort).getName(), nameCollab));
-        }
-
-        return switch(command.name()) {
-            case Commands.DELETE_COLLABORATION -> processDeleteCollaboration(command, remotePort);
-            case Commands.COLLABORATION_ADD_USER -> processAddUser(command);
-            case Commands.COLLABORATION_ADD_TASK -> processAddTaskCollaboration(command);
-            case Commands.COLLABORATION_LIST_TASKS -> processListTasksCollaboration(command, remotePort);
-            case Commands.COLLABORATION_LIST_USERS -> processListUsersCollaboration(command, remotePort);
-            default -> null;
-        };
-    }
-    private ByteBuffer processListUsersCollaboration(Command command, int remotePort) {
-        String collabName = command.args().get(CommandElements.COLLABORATION);
-
-        System.out.printf("-> {User names linked of this Collaboration <%s> were sent to <%s> }\n",
-                collabName, loginUsers.get(remotePort).getName());
-
-        return putMessageToBuffer(TEMP_BUFFER, getCollaboration(collabName).getMembers());
-    }
-    private ByteBuffer processListTasksCollaboration(Command command, int remotePort) {
-        String collabName = command.args().get(CommandElements.COLLABORATION);
-        String userName = loginUsers.get(remotePort).getName();
-
-        System.out.printf("-> {Info of all tasks of Collaboration <%s> was sent to <%s> }\n",
-                collabName, userName);
-
-        return putMessageToBuffer(TEMP_BUFFER, getCollaboration(collabName).getTasks(userName));
-    }
-    private Collaboration getCollaboration(String collaborationName) {
-        return collaborations.stream().filter(c -> c.getName().equals(collaborationName))
-                .findFirst().get();
-    }
-    private ByteBuffer processDeleteCollaboration(Command command, int remotePort) {
-        String nameCollab = command.args().get(CommandElements.COLLABORATION);
-
-        if (!getCollaboration(nameCollab).getOwnerName().equals(loginUsers.get(remotePort).getName())) {
-            throw new IllegalAccessException(String.format("Logged User named <%s> isn't" +
-                    " owner of Collaboration named <%s>", loginUsers.get(remotePort).getName(), nameCollab));
-        }
-
-        collaborations.remove(new Collaboration(nameCollab, null));
-        deleteCollaborationFromUsers(nameCollab);
-
-        System.out.printf("-> {Collaboration named <%s> was deleted successfully by <%s> }\n"
-                , nameCollab, loginUsers.get(remotePort).getName());
-        return putMessageToBuffer(TEMP_BUFFER, "{Collaboration was deleted successfully by its owner}");
-    }
-    private ByteBuffer processAddUser(Command command) {
-        String userName = command.args().get(CommandElements.USER_NAME);
-        String collabName = command.args().get(CommandElements.COLLABORATION);
-
-        if (!users.contains(new User(userName, null))) {
-            throw new NotFoundException(String.format("{User <%s> can't be added to collaboration" +
-                    " -> wasn't find through registered users }", command.args().get(CommandElements.USER_NAME)));
-        }
-
-        if (!collaborations.contains(new Collaboration(collabName, null))) {
-            throw new NotFoundException(String.format("{Can't find collaboration <%s> }"
-                    , command.args().get(CommandElements.COLLABORATION)));
-        }
-
-        Collaboration toCheck = getCollaboration(collabName);
-
-        toCheck.addMember(userName);
-        userCollaborations.putIfAbsent(userName, new HashSet<>());
-        userCollaborations.get(userName).add(collabName);
-
-        System.out.printf("-> {User <%s> was added to Collaboration <%s> }\n", userName, collabName);
-        return putMessageToBuffer(TEMP_BUFFER, String.format("{Successfully added to Collaboration <%s> }"
-                , collabName));
-    }
-    private void deleteCollaborationFromUsers(String nameCollab) {
-        for (var user : users) {
-            if (userCollaborations.containsKey(user.getName())) {
-                userCollaborations.get(user.getName()).remove(nameCollab);
-            }
-        }
-    }
-    private ByteBuffer processAddTaskCollaboration(Command command) {
-        String nameCollab = command.args().get(CommandElements.COLLABORATION);
-        Optional<String> assignee = Optional.ofNullable(command.args().get(CommandElements.ASSIGNEE));
-
-        if (assignee.isPresent() && !getCollaboration(nameCollab).isMember(assignee.get())) {
-            throw new NotFoundException(String.format("{Assignee named <%s> wasn't find through" +
-                    " members of Collaboration <%s> }", assignee.get(), nameCollab));
-        }
-
-        Task toAdd = createTaskFromParams(command.args());
-        getCollaboration(nameCollab).addTask(assignee, toAdd);
-
-        System.out.printf("-> {Task <%s> was added successfully to Collaboration <%s> }\n", toAdd, nameCollab);
-        return putMessageToBuffer(TEMP_BUFFER, "{Task was added successfully to Collaboration}");
-    }
-    private Task createTaskFromParams(Map<String, String> params) {
-        return new Task(params.get(TASK_NAME), (params.get(TASK_DATE) == UNINITIALIZED)
-                ? null : LocalDate.parse(params.get(TASK_DATE)), (params.get(TASK_DUE_DATE) == UNINITIALIZED)
-                ? null : LocalDate.parse(params.get(TASK_DUE_DATE)), params.get(TASK_DESCRIPTION));
-    }
-}
\ No newline at end of file
+package uni.sofia.fmi.mjt.project.commands;
+
+import uni.sofia.fmi.mjt.project.exceptions.AlreadyExistedException;
+import uni.sofia.fmi.mjt.project.exceptions.ClientErrorException;
+import uni.sofia.fmi.mjt.project.exceptions.IllegalAccessException;
+import uni.sofia.fmi.mjt.project.exceptions.InvalidParametersException;
+import uni.sofia.fmi.mjt.project.exceptions.NotFoundException;
+import uni.sofia.fmi.mjt.project.exceptions.StackTraceConverter;
+import uni.sofia.fmi.mjt.project.protocol.BinaryProtocol;
+import uni.sofia.fmi.mjt.project.protocol.ChunkedReply;
+import uni.sofia.fmi.mjt.project.protocol.TextProtocol;
+import uni.sofia.fmi.mjt.project.protocol.WireProtocol;
+import uni.sofia.fmi.mjt.project.user.Collaboration;
+import uni.sofia.fmi.mjt.project.user.CollaborationRegistry;
+import uni.sofia.fmi.mjt.project.user.NameDictionary;
+import uni.sofia.fmi.mjt.project.user.Task;
+import uni.sofia.fmi.mjt.project.user.TaskIndex;
+import uni.sofia.fmi.mjt.project.user.TaskStore;
+import uni.sofia.fmi.mjt.project.user.User;
+import uni.sofia.fmi.mjt.project.user.UserRegistry;
+import uni.sofia.fmi.mjt.project.validators.CommandValidator;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
+import java.io.Serial;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static uni.sofia.fmi.mjt.project.commands.CommandElements.TASK_DATE;
+import static uni.sofia.fmi.mjt.project.commands.CommandElements.TASK_DESCRIPTION;
+import static uni.sofia.fmi.mjt.project.commands.CommandElements.TASK_DUE_DATE;
+import static uni.sofia.fmi.mjt.project.commands.CommandElements.TASK_NAME;
+
+/**
+ * Serialized form is the one of the back up: logged in Users, set of Users, set of Collaborations and names of
+ * Collaborations of every User, so back ups written before stay readable. NameDictionary and both registries are
+ * rebuilt from them after loading
+ */
+public class CommandExecutor implements Serializable, CommandExecuterAPI {
+    @Serial
+    private static final long serialVersionUID = -3907722850479824274L;
+    @Serial
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("loginUsers", Map.class),
+            new ObjectStreamField("users", Set.class),
+            new ObjectStreamField("collaborations", Set.class),
+            new ObjectStreamField("userCollaborations", Map.class)
+    };
+    private Map<Integer, User> loginUsers;
+    private NameDictionary names;
+    private UserRegistry users;
+    private CollaborationRegistry collaborations;
+    private transient Set<Integer> binarySessions;
+    private transient CommandDescriptor[] descriptors;
+    private static final String UNDEFINED_COMMAND_MESSAGE =
+            "{There is no command <%s> with such name through available for users}";
+    private static final String LOGGER_FILE_NAME = "Logger.txt";
+    private static final Object UNINITIALIZED = null;
+    private static final CommandType UNDEFINED_COMMAND = null;
+    private static final Collaboration NO_COLLABORATION = null;
+    private static final WireProtocol TEXT_PROTOCOL = new TextProtocol();
+    private static final WireProtocol BINARY_PROTOCOL = new BinaryProtocol();
+    private static final Reply HELP = Reply.constant(InputRules.HELP_INFO);
+    private static final Reply HELP_TASK = Reply.constant(InputRules.HELP_TASK_INFO);
+    private static final Reply HELP_COLLABORATION = Reply.constant(InputRules.HELP_COLLABORATION_INFO);
+    private static final Reply BINARY_NEGOTIATED = Reply.constant("{Binary protocol was negotiated}");
+    private static final Reply REGISTERED = Reply.constant("{New User was added successfully." +
+            "Now you can log in}\n");
+    private static final Reply LOGGED_IN =
+            Reply.constant("{Successfully logged in. Now you can perform operations with your account}");
+    private static final Reply LOGGED_OUT = Reply.constant("{Successfully logged out from the account}");
+    private static final Reply COLLABORATION_CREATED = Reply.constant("{Successfully created Collaboration}");
+    private static final Reply COLLABORATION_DELETED =
+            Reply.constant("{Collaboration was deleted successfully by its owner}");
+    private static final Reply COLLABORATION_TASK_ADDED =
+            Reply.constant("{Task was added successfully to Collaboration}");
+    private static BufferedWriter errorWriter;
+
+    public CommandExecutor() {
+        if (loginUsers == UNINITIALIZED) {
+            loginUsers = new ConcurrentHashMap<>();
+        }
+        if (names == UNINITIALIZED) {
+            names = new NameDictionary();
+        }
+        if (users == UNINITIALIZED) {
+            users = new UserRegistry(names);
+        }
+        if (collaborations == UNINITIALIZED) {
+            collaborations = new CollaborationRegistry(names);
+        }
+        if (binarySessions == UNINITIALIZED) {
+            binarySessions = ConcurrentHashMap.newKeySet();
+        }
+        if (descriptors == UNINITIALIZED) {
+            descriptors = createDescriptors();
+        }
+    }
+
+    @Override
+    public ByteBuffer execute(ByteBuffer buffer, int remotePort) {
+        Reply reply = respond(buffer, remotePort);
+
+        return protocolOf(remotePort).encodeReply(reply);
+    }
+
+    @Override
+    public ChunkedReply executeChunked(ByteBuffer buffer, int remotePort) {
+        Reply reply = respond(buffer, remotePort);
+
+        return protocolOf(remotePort).encodeChunkedReply(reply);
+    }
+
+    @Override
+    public ChunkedReply replyMessage(String message, int remotePort) {
+        return protocolOf(remotePort).encodeChunkedReply(Reply.message(message));
+    }
+
+    @Override
+    public String getSessionOwner(int remotePort) {
+        User owner = loginUsers.get(remotePort);
+
+        return (owner == UNINITIALIZED) ? null : owner.getName();
+    }
+
+    @Override
+    public void closeSession(int remotePort) {
+        binarySessions.remove(remotePort);
+        User logOut = loginUsers.remove(remotePort);
+
+        if (logOut != UNINITIALIZED) {
+            System.out.printf("-> {Client <%d> was logged out from %s after closing its session}\n"
+                    , remotePort, logOut.getName());
+        }
+    }
+
+    private static synchronized void writeErrorToFile(String message) {
+        try {
+            if (errorWriter == UNINITIALIZED) {
+                errorWriter = new BufferedWriter(new FileWriter(LOGGER_FILE_NAME, true));
+            }
+
+            errorWriter.write(message);
+            errorWriter.flush();
+        } catch (IOException e) {
+            errorWriter = (BufferedWriter) UNINITIALIZED;
+            System.err.printf("{Can't write to the file <%s>\n<%s>\n}"
+                    , LOGGER_FILE_NAME, e.getMessage());
+        }
+    }
+    private Reply respond(ByteBuffer buffer, int remotePort) {
+        Command command = (Command) UNINITIALIZED;
+
+        try {
+            if (BinaryProtocol.isHandshake(buffer)) {
+                return negotiateBinaryProtocol(buffer, remotePort);
+            }
+
+            command = protocolOf(remotePort).decodeRequest(buffer);
+
+            if (command.type() == UNDEFINED_COMMAND) {
+                return Reply.message(String.format(UNDEFINED_COMMAND_MESSAGE, command.name()));
+            }
+
+            CommandDescriptor descriptor = descriptors[command.type().ordinal()];
+            Arguments arguments = descriptor.schema().validate(command);
+            arguments.setCollaboration(authorize(descriptor.authLevel(), arguments, remotePort));
+
+            return descriptor.handler().handle(arguments, remotePort);
+        } catch (ClientErrorException e) {
+            writeErrorToFile(StackTraceConverter.getErrorEntry(e, remotePort, describe(command)));
+
+            return Reply.message(e.getMessage());
+        } catch (Throwable e) {
+            writeErrorToFile(StackTraceConverter.getStackTrace(e, remotePort, describe(command)));
+
+            return Reply.message(e.getMessage());
+        }
+    }
+    private WireProtocol protocolOf(int remotePort) {
+        return binarySessions.contains(remotePort) ? BINARY_PROTOCOL : TEXT_PROTOCOL;
+    }
+    private static String describe(Command command) {
+        return "Command to be execute: <" + ((command == UNINITIALIZED) ? "undecoded" : command.name()) + ">";
+    }
+    @Serial
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+
+        loginUsers = new ConcurrentHashMap<>((Map<Integer, User>) fields.get("loginUsers", Map.of()));
+        names = new NameDictionary();
+        users = new UserRegistry(names);
+        collaborations = new CollaborationRegistry(names);
+
+        ((Set<User>) fields.get("users", Set.of())).forEach(users::register);
+        ((Set<Collaboration>) fields.get("collaborations", Set.of())).forEach(collaborations::restore);
+
+        binarySessions = ConcurrentHashMap.newKeySet();
+        descriptors = createDescriptors();
+    }
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        Map<String, Set<String>> userCollaborations = new HashMap<>();
+
+        for (User user : users.getAll()) {
+            List<String> collaborationNames = collaborations.getCollaborationNames(user.getName());
+
+            if (!collaborationNames.isEmpty()) {
+                userCollaborations.put(user.getName(), new HashSet<>(collaborationNames));
+            }
+        }
+
+        ObjectOutputStream.PutField fields = out.putFields();
+
+        fields.put("loginUsers", new HashMap<>(loginUsers));
+        fields.put("users", new HashSet<>(users.getAll()));
+        fields.put("collaborations", new HashSet<>(collaborations.getAll()));
+        fields.put("userCollaborations", userCollaborations);
+        out.writeFields();
+    }
+    private CommandDescriptor[] createDescriptors() {
+        CommandDescriptor[] table = new CommandDescriptor[CommandType.values().length];
+
+        register(table, CommandType.REGISTRATION, AuthLevel.ANONYMOUS, this::processRegisterCommand);
+        register(table, CommandType.LOGIN, AuthLevel.ANONYMOUS, this::processLoginCommand);
+        register(table, CommandType.LOGOUT, AuthLevel.LOGGED_IN, (arguments, port) -> processLogoutCommand(port));
+        register(table, CommandType.HELP, AuthLevel.ANONYMOUS, (arguments, port) -> HELP);
+        register(table, CommandType.HELP_TASK, AuthLevel.ANONYMOUS, (arguments, port) -> HELP_TASK);
+        register(table, CommandType.HELP_COLLABORATION, AuthLevel.ANONYMOUS, (arguments, port) -> HELP_COLLABORATION);
+
+        for (CommandType type : List.of(CommandType.ADD_TASK, CommandType.UPDATE_TASK, CommandType.DELETE_TASK
+                , CommandType.GET_TASK, CommandType.LIST_TASKS, CommandType.FINISH_TASK, CommandType.LIST_DASHBOARD
+                , CommandType.LIST_OVERDUE, CommandType.LIST_DUE)) {
+            register(table, type, AuthLevel.LOGGED_IN, this::processTaskCommand);
+        }
+
+        register(table, CommandType.ADD_COLLABORATION, AuthLevel.LOGGED_IN, this::processAddCollaboration);
+        register(table, CommandType.LIST_COLLABORATIONS, AuthLevel.LOGGED_IN, this::processListCollaborations);
+        register(table, CommandType.DELETE_COLLABORATION, AuthLevel.OWNER, this::processDeleteCollaboration);
+        register(table, CommandType.COLLABORATION_ADD_USER, AuthLevel.MEMBER
+                , (arguments, port) -> processAddUser(arguments));
+        register(table, CommandType.COLLABORATION_ADD_TASK, AuthLevel.MEMBER
+                , (arguments, port) -> processAddTaskCollaboration(arguments));
+        register(table, CommandType.COLLABORATION_LIST_TASKS, AuthLevel.MEMBER, this::processListTasksCollaboration);
+        register(table, CommandType.COLLABORATION_LIST_USERS, AuthLevel.MEMBER, this::processListUsersCollaboration);
+        register(table, CommandType.COLLABORATION_LIST_OVERDUE, AuthLevel.MEMBER
+                , this::processListOverdueCollaboration);
+        register(table, CommandType.COLLABORATION_LIST_DUE, AuthLevel.MEMBER, this::processListDueCollaboration);
+        register(table, CommandType.SEARCH_TASKS, AuthLevel.LOGGED_IN, this::processSearchTasks);
+
+        return table;
+    }
+    private void register(CommandDescriptor[] table, CommandType type, AuthLevel authLevel, CommandHandler handler) {
+        table[type.ordinal()] = new CommandDescriptor(authLevel, CommandValidator.schemaFor(type), handler);
+    }
+    private Collaboration authorize(AuthLevel authLevel, Arguments arguments, int remotePort) {
+        if (authLevel == AuthLevel.ANONYMOUS) {
+            return NO_COLLABORATION;
+        }
+
+        User user = loginUsers.get(remotePort);
+
+        if (user == UNINITIALIZED) {
+            throw new IllegalAccessException("{User isn't logged in any account to perform "
+                    + arguments.getCommandName() + "}");
+        }
+
+        if (authLevel == AuthLevel.LOGGED_IN) {
+            return NO_COLLABORATION;
+        }
+
+        String nameCollab = arguments.getString(CommandElements.COLLABORATION);
+
+        Collaboration collaboration = collaborations.find(nameCollab);
+
+        if (collaboration == UNINITIALIZED) {
+            throw new NotFoundException(String.format("{Collaboration named <%s> wasn't find}", nameCollab));
+        }
+
+        if (!collaboration.isMember(user.getId())) {
+            throw new IllegalAccessException(String.format("Logged User name <%s> isn't" +
+                    " member of Collaboration named <%s>", user.getName(), nameCollab));
+        }
+
+        if (authLevel == AuthLevel.OWNER && !collaboration.isOwner(user.getId())) {
+            throw new IllegalAccessException(String.format("Logged User named <%s> isn't" +
+                    " owner of Collaboration named <%s>", user.getName(), nameCollab));
+        }
+
+        return collaboration;
+    }
+    private Reply negotiateBinaryProtocol(ByteBuffer buffer, int remotePort) {
+        int version = BinaryProtocol.readHandshakeVersion(buffer);
+
+        if (version != BinaryProtocol.VERSION) {
+            throw new InvalidParametersException(String.format("{Binary protocol version <%d> isn't supported" +
+                    ". Supported version is <%d>}", version, BinaryProtocol.VERSION));
+        }
+
+        binarySessions.add(remotePort);
+
+        System.out.printf("-> {Client <%d> switched to binary protocol v%d}\n", remotePort, version);
+        return BINARY_NEGOTIATED;
+    }
+    private Reply processRegisterCommand(Arguments arguments, int remotePort) {
+        User toAdd = new User(arguments.getString(CommandElements.USER_NAME)
+                , arguments.getString(CommandElements.USER_PASSWORD));
+
+        if (loginUsers.containsKey(remotePort)) {
+            throw new IllegalAccessException("{User can't perform register" +
+                    " operations while is logged in. Please, logout and try again}");
+        }
+
+        if (!users.register(toAdd)) {
+            throw new AlreadyExistedException(String.format("{User with name <%s> " +
+                    "is already registered in system. Please, choose another name}", toAdd.getName()));
+        }
+
+        System.out.printf("-> {new User <name:%s, password:%s> was added to system}\n"
+                , toAdd.getName(), toAdd.getPassword());
+
+        return REGISTERED;
+    }
+    private Reply processLoginCommand(Arguments arguments, int remotePort) {
+        if (loginUsers.containsKey(remotePort)) {
+            throw new IllegalAccessException("{User is already logged in some account}");
+        }
+
+        String name = arguments.getString(CommandElements.USER_NAME);
+        User toAdd = users.find(name);
+
+        if (toAdd == UNINITIALIZED) {
+            throw new NotFoundException("{Undefined User account" +
+                    ". In system there is no registered User named <" + name + "> }");
+        }
+
+        if (!toAdd.getPassword().equals(arguments.getString(CommandElements.USER_PASSWORD))) {
+            throw new InvalidParametersException("{Unable to log in. Wrong password. Please, try again}");
+        }
+
+        System.out.printf("-> {Client <%d> was logged in User account <%s>}\n", remotePort, name);
+
+        if (loginUsers.putIfAbsent(remotePort, toAdd) != UNINITIALIZED) {
+            throw new IllegalAccessException("{User is already logged in some account}");
+        }
+
+        return LOGGED_IN;
+    }
+    private Reply processLogoutCommand(int remotePort) {
+        User logOut = loginUsers.remove(remotePort);
+
+        if (logOut == UNINITIALIZED) {
+            throw new IllegalAccessException("{User isn't logged in any account to be logged out}");
+        }
+
+        System.out.printf("-> {Client <%d> was logged out from <%s>}\n", remotePort, logOut.getName());
+
+        return LOGGED_OUT;
+    }
+    private Reply processTaskCommand(Arguments arguments, int remotePort) {
+        return loginUsers.get(remotePort).executeTaskCommand(arguments);
+    }
+    private Reply processAddCollaboration(Arguments arguments, int remotePort) {
+        String nameCollab = arguments.getString(CommandElements.COLLABORATION_NAME);
+
+        String creator = loginUsers.get(remotePort).getName();
+
+        if (!collaborations.create(nameCollab, creator)) {
+            throw new AlreadyExistedException(String.format("{Can't create new Collaboration" +
+                    ". Already existed Collaboration named <%s>}"
+                    , nameCollab));
+        }
+
+        System.out.printf("-> {Successfully created Collaboration{name:<%s>, creator:<%s>} }\n",
+                nameCollab, creator);
+
+        return COLLABORATION_CREATED;
+    }
+    private Reply processListCollaborations(Arguments arguments, int remotePort) {
+        String userName = loginUsers.get(remotePort).getName();
+
+        return PageRequest.of(arguments).names(collaborations.getCollaborationNames(userName));
+    }
+    private Reply processListUsersCollaboration(Arguments arguments, int remotePort) {
+        String collabName = arguments.getString(CommandElements.COLLABORATION);
+
+        System.out.printf("-> {User names linked of this Collaboration <%s> were sent to <%s> }\n",
+                collabName, loginUsers.get(remotePort).getName());
+
+        return PageRequest.of(arguments).names(arguments.getCollaboration().getMembers());
+    }
+    private Reply processListTasksCollaboration(Arguments arguments, int remotePort) {
+        String collabName = arguments.getString(CommandElements.COLLABORATION);
+        String userName = loginUsers.get(remotePort).getName();
+
+        System.out.printf("-> {Info of all tasks of Collaboration <%s> was sent to <%s> }\n",
+                collabName, userName);
+
+        PageRequest page = PageRequest.of(arguments);
+        Collaboration collaboration = arguments.getCollaboration();
+
+        if (arguments.has(CommandElements.FROM_DATE)) {
+            return page.tasks(collaboration.getTasks(userName
+                    , arguments.getDate(CommandElements.FROM_DATE), arguments.getDate(CommandElements.TO_DATE))
+                    , PageRequest.BY_DATE);
+        }
+
+        return page.tasks(collaboration.getTasks(userName), PageRequest.BY_DATE);
+    }
+    private Reply processListOverdueCollaboration(Arguments arguments, int remotePort) {
+        String collabName = arguments.getString(CommandElements.COLLABORATION);
+        String userName = loginUsers.get(remotePort).getName();
+
+        System.out.printf("-> {Overdue tasks of Collaboration <%s> were sent to <%s> }\n", collabName, userName);
+
+        PageRequest page = PageRequest.of(arguments, TaskStore.TOP_DUE_TASKS);
+
+        return page.tasks(arguments.getCollaboration().getOverdue(userName, LocalDate.now()
+                , page.notBefore(PageRequest.BY_DUE_DATE), page.fetchSize()), PageRequest.BY_DUE_DATE);
+    }
+    private Reply processListDueCollaboration(Arguments arguments, int remotePort) {
+        String collabName = arguments.getString(CommandElements.COLLABORATION);
+        String userName = loginUsers.get(remotePort).getName();
+        LocalDate today = LocalDate.now();
+
+        System.out.printf("-> {Upcoming tasks of Collaboration <%s> were sent to <%s> }\n", collabName, userName);
+
+        PageRequest page = PageRequest.of(arguments, TaskStore.TOP_DUE_TASKS);
+
+        return page.tasks(arguments.getCollaboration().getDueBetween(userName, today
+                , today.plusDays(arguments.getNumber(CommandElements.WITHIN_DAYS))
+                , page.notBefore(PageRequest.BY_DUE_DATE), page.fetchSize()), PageRequest.BY_DUE_DATE);
+    }
+    private Reply processSearchTasks(Arguments arguments, int remotePort) {
+        String query = arguments.getString(CommandElements.QUERY);
+        List<String> terms = TaskIndex.tokenize(query);
+        User user = loginUsers.get(remotePort);
+        List<Task> found = user.searchTasks(terms);
+
+        for (String collabName : collaborations.getCollaborationNames(user.getName())) {
+            Collaboration collaboration = collaborations.find(collabName);
+
+            if (collaboration != UNINITIALIZED) {
+                found.addAll(collaboration.searchTasks(user.getName(), terms));
+            }
+        }
+
+        System.out.printf("-> {<%d> tasks matching <%s> were sent to <%s> }\n", found.size(), query, user.getName());
+        return found.isEmpty() ? Reply.message(String.format("{There is no tasks matching <%s> }", query))
+                : PageRequest.of(arguments).tasks(found, PageRequest.BY_DATE);
+    }
+    private Reply processDeleteCollaboration(Arguments arguments, int remotePort) {
+        String nameCollab = arguments.getString(CommandElements.COLLABORATION);
+
+        if (!collaborations.delete(arguments.getCollaboration())) {
+            throw new NotFoundException(String.format("{Collaboration named <%s> wasn't find}", nameCollab));
+        }
+
+        System.out.printf("-> {Collaboration named <%s> was deleted successfully by <%s> }\n"
+                , nameCollab, loginUsers.get(remotePort).getName());
+        return COLLABORATION_DELETED;
+    }
+    private Reply processAddUser(Arguments arguments) {
+        String userName = arguments.getString(CommandElements.USER_NAME);
+        String collabName = arguments.getString(CommandElements.COLLABORATION);
+
+        if (!users.contains(userName)) {
+            throw new NotFoundException(String.format("{User <%s> can't be added to collaboration" +
+                    " -> wasn't find through registered users }", arguments.getString(CommandElements.USER_NAME)));
+        }
+
+        collaborations.addMember(arguments.getCollaboration(), userName);
+
+        System.out.printf("-> {User <%s> was added to Collaboration <%s> }\n", userName, collabName);
+        return Reply.message(String.format("{Successfully added to Collaboration <%s> }"
+                , collabName));
+    }
+    private Reply processAddTaskCollaboration(Arguments arguments) {
+        String nameCollab = arguments.getString(CommandElements.COLLABORATION);
+        Collaboration collaboration = arguments.getCollaboration();
+        Optional<String> assignee = Optional.ofNullable(arguments.getString(CommandElements.ASSIGNEE));
+
+        if (assignee.isPresent() && !collaboration.isMember(assignee.get())) {
+            throw new NotFoundException(String.format("{Assignee named <%s> wasn't find through" +
+                    " members of Collaboration <%s> }", assignee.get(), nameCollab));
+        }
+
+        Task toAdd = createTaskFromParams(arguments);
+        collaboration.addTask(assignee, toAdd);
+
+        System.out.printf("-> {Task <%s> was added successfully to Collaboration <%s> }\n", toAdd, nameCollab);
+        return COLLABORATION_TASK_ADDED;
+    }
+    private Task createTaskFromParams(Arguments arguments) {
+        return new Task(arguments.getString(TASK_NAME), arguments.getDate(TASK_DATE)
+                , arguments.getDate(TASK_DUE_DATE), arguments.getString(TASK_DESCRIPTION));
+    }
+}
@@ -0,0 +1,14 @@
+package uni.sofia.fmi.mjt.project.commands;
+
+@FunctionalInterface
+public interface CommandHandler {
+
+    /**
+     * Executes already validated and authorized Command
+     *
+     * @param arguments typed parameters of the Command, each of them parsed once by its CommandSchema
+     * @param remotePort unique port-identificator of every started session of the program
+     * @return Reply to be encoded and sent to Client
+     */
+    Reply handle(Arguments arguments, int remotePort);
+}
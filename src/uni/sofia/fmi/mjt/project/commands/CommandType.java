@@ -0,0 +1,66 @@
+package uni.sofia.fmi.mjt.project.commands;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public enum CommandType {
+    REGISTRATION(Commands.REGISTRATION, 1),
+    LOGIN(Commands.LOGIN, 2),
+    LOGOUT(Commands.LOGOUT, 3),
+    HELP(Commands.HELP, 4),
+    HELP_TASK(Commands.HELP_TASK, 5),
+    HELP_COLLABORATION(Commands.HELP_COLLABORATION, 6),
+    ADD_TASK(Commands.ADD_TASK, 7),
+    UPDATE_TASK(Commands.UPDATE_TASK, 8),
+    DELETE_TASK(Commands.DELETE_TASK, 9),
+    GET_TASK(Commands.GET_TASK, 10),
+    LIST_TASKS(Commands.LIST_TASKS, 11),
+    FINISH_TASK(Commands.FINISH_TASK, 12),
+    LIST_DASHBOARD(Commands.LIST_DASHBOARD, 13),
+    ADD_COLLABORATION(Commands.ADD_COLLABORATION, 14),
+    LIST_COLLABORATIONS(Commands.LIST_COLLABORATIONS, 15),
+    DELETE_COLLABORATION(Commands.DELETE_COLLABORATION, 16),
+    COLLABORATION_ADD_USER(Commands.COLLABORATION_ADD_USER, 17),
+    COLLABORATION_ADD_TASK(Commands.COLLABORATION_ADD_TASK, 18),
+    COLLABORATION_LIST_TASKS(Commands.COLLABORATION_LIST_TASKS, 19),
+    COLLABORATION_LIST_USERS(Commands.COLLABORATION_LIST_USERS, 20),
+    LIST_OVERDUE(Commands.LIST_OVERDUE, 21),
+    LIST_DUE(Commands.LIST_DUE, 22),
+    COLLABORATION_LIST_OVERDUE(Commands.COLLABORATION_LIST_OVERDUE, 23),
+    COLLABORATION_LIST_DUE(Commands.COLLABORATION_LIST_DUE, 24),
+    SEARCH_TASKS(Commands.SEARCH_TASKS, 25);
+
+    private static final Map<String, CommandType> BY_NAME = new HashMap<>();
+    private static final CommandType[] BY_OPCODE = new CommandType[values().length + 1];
+    private static final CommandType UNDEFINED = null;
+    private final String name;
+    private final int opcode;
+
+    static {
+        for (CommandType type : values()) {
+            BY_NAME.put(type.name, type);
+            BY_OPCODE[type.opcode] = type;
+        }
+    }
+
+    CommandType(String name, int opcode) {
+        this.name = name;
+        this.opcode = opcode;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getOpcode() {
+        return opcode;
+    }
+
+    public static CommandType fromName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    public static CommandType fromOpcode(int opcode) {
+        return (opcode > 0 && opcode < BY_OPCODE.length) ? BY_OPCODE[opcode] : UNDEFINED;
+    }
+}
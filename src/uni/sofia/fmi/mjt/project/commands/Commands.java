@@ -1,24 +1,29 @@
-package uni.sofia.fmi.mjt.project.commands;
-
-public abstract class Commands {
-    public static final String REGISTRATION = "register";
-    public static final String HELP = "help";
-    public static final String HELP_TASK = "help-task";
-    public static final String LOGIN = "login";
-    public static final String LOGOUT = "logout";
-    public static final String ADD_TASK = "add-task";
-    public static final String UPDATE_TASK = "update-task";
-    public static final String DELETE_TASK = "delete-task";
-    public static final String GET_TASK = "get-task";
-    public static final String LIST_TASKS = "list-tasks";
-    public static final String LIST_DASHBOARD = "list-dashboard";
-    public static final String FINISH_TASK = "finish-task";
-    public static final String ADD_COLLABORATION = "add-collaboration";
-    public static final String LIST_COLLABORATIONS = "list-collaborations";
-    public static final String DELETE_COLLABORATION = "delete-collaboration";
-    public static final String COLLABORATION_ADD_USER = "add-user";
-    public static final String COLLABORATION_ADD_TASK = "collaboration-add-task";
-    public static final String COLLABORATION_LIST_TASKS = "collaboration-list-tasks";
-    public static final String COLLABORATION_LIST_USERS = "list-users";
-    public static final String HELP_COLLABORATION = "help-collaboration";
-}
+package uni.sofia.fmi.mjt.project.commands;
+
+public abstract class Commands {
+    public static final String REGISTRATION = "register";
+    public static final String HELP = "help";
+    public static final String HELP_TASK = "help-task";
+    public static final String LOGIN = "login";
+    public static final String LOGOUT = "logout";
+    public static final String ADD_TASK = "add-task";
+    public static final String UPDATE_TASK = "update-task";
+    public static final String DELETE_TASK = "delete-task";
+    public static final String GET_TASK = "get-task";
+    public static final String LIST_TASKS = "list-tasks";
+    public static final String LIST_DASHBOARD = "list-dashboard";
+    public static final String FINISH_TASK = "finish-task";
+    public static final String ADD_COLLABORATION = "add-collaboration";
+    public static final String LIST_COLLABORATIONS = "list-collaborations";
+    public static final String DELETE_COLLABORATION = "delete-collaboration";
+    public static final String COLLABORATION_ADD_USER = "add-user";
+    public static final String COLLABORATION_ADD_TASK = "collaboration-add-task";
+    public static final String COLLABORATION_LIST_TASKS = "collaboration-list-tasks";
+    public static final String COLLABORATION_LIST_USERS = "list-users";
+    public static final String HELP_COLLABORATION = "help-collaboration";
+    public static final String LIST_OVERDUE = "list-overdue";
+    public static final String LIST_DUE = "list-due";
+    public static final String COLLABORATION_LIST_OVERDUE = "collaboration-list-overdue";
+    public static final String COLLABORATION_LIST_DUE = "collaboration-list-due";
+    public static final String SEARCH_TASKS = "search-tasks";
+}
@@ -0,0 +1,161 @@
+package uni.sofia.fmi.mjt.project.commands;
+
+import uni.sofia.fmi.mjt.project.exceptions.InvalidParametersException;
+import uni.sofia.fmi.mjt.project.user.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * One page of a list reply. Items are ordered by a text sort key and at most "limit" of them are sent.
+ * Cursor is an opaque token (URL-safe Base64) of the key of the last sent item and the count of sent items with
+ * exactly this key, so the next page continues right after it even if items were added or removed meanwhile.
+ * While a collection is walked only the first items after the cursor are kept, never the whole collection
+ */
+public class PageRequest {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+    private static final String NO_VALUE = "";
+    public static final Function<Task, String> BY_DATE = task -> key(sortable(task.getDateDay()), task.getName()
+            , sortable(task.getDueDateDay()), descriptionOf(task));
+    public static final Function<Task, String> BY_DUE_DATE = task -> key(sortable(task.getDueDateDay())
+            , sortable(task.getDateDay()), task.getName(), descriptionOf(task));
+    private static final String NO_KEY = null;
+    private static final char SEPARATOR = '\0';
+    private static final char COUNT_SEPARATOR = ':';
+    private static final int DATE_KEY_WIDTH = 12;
+    private static final long FIRST_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+    private final int limit;
+    private final String lastKey;
+    private final int sentWithLastKey;
+
+    private PageRequest(int limit, String lastKey, int sentWithLastKey) {
+        this.limit = limit;
+        this.lastKey = lastKey;
+        this.sentWithLastKey = sentWithLastKey;
+    }
+
+    public static PageRequest of(Arguments arguments) {
+        return of(arguments, DEFAULT_LIMIT);
+    }
+
+    public static PageRequest of(Arguments arguments, int defaultLimit) {
+        int limit = arguments.has(CommandElements.LIMIT) ? arguments.getNumber(CommandElements.LIMIT) : defaultLimit;
+
+        return arguments.has(CommandElements.CURSOR) ? decode(limit, arguments.getString(CommandElements.CURSOR))
+                : new PageRequest(limit, NO_KEY, 0);
+    }
+
+    public int fetchSize() {
+        return limit + sentWithLastKey + 1;
+    }
+
+    public boolean notBefore(String key) {
+        return lastKey == NO_KEY || key.compareTo(lastKey) >= 0;
+    }
+
+    public <T> Predicate<T> notBefore(Function<T, String> keyOf) {
+        return item -> notBefore(keyOf.apply(item));
+    }
+
+    public Reply tasks(Collection<Task> tasks, Function<Task, String> keyOf) {
+        return select(tasks, keyOf, Reply::tasks);
+    }
+
+    public Reply names(Collection<String> names) {
+        return select(names, Function.identity(), Reply::names);
+    }
+
+    private static PageRequest decode(int limit, String cursor) {
+        String decoded;
+        int separator;
+        int sentWithLastKey;
+
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            separator = decoded.indexOf(COUNT_SEPARATOR);
+            sentWithLastKey = Integer.parseInt(decoded, 0, separator, 10);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw invalidCursor(cursor);
+        }
+
+        if (sentWithLastKey < 0 || sentWithLastKey > MAX_LIMIT) {
+            throw invalidCursor(cursor);
+        }
+
+        return new PageRequest(limit, decoded.substring(separator + 1), sentWithLastKey);
+    }
+    private static InvalidParametersException invalidCursor(String cursor) {
+        return new InvalidParametersException(String.format("{Cursor <%s> isn't valid. Use the cursor" +
+                " sent with the previous page}", cursor));
+    }
+    private static String encode(String key, int sentWithKey) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sentWithKey + String.valueOf(COUNT_SEPARATOR) + key).getBytes(StandardCharsets.UTF_8));
+    }
+    private static String key(String... parts) {
+        return String.join(String.valueOf(SEPARATOR), parts);
+    }
+    private static String descriptionOf(Task task) {
+        return task.hasDescription() ? task.getDescriptionOrNull() : NO_VALUE;
+    }
+    private static String sortable(int epochDay) {
+        if (epochDay == Task.NO_DATE) {
+            return NO_VALUE;
+        }
+
+        String days = Long.toString(epochDay - FIRST_EPOCH_DAY);
+
+        return "0".repeat(DATE_KEY_WIDTH - days.length()) + days;
+    }
+    private <T> Reply select(Collection<T> items, Function<T, String> keyOf
+            , BiFunction<List<T>, String, Reply> toReply) {
+        PriorityQueue<Map.Entry<String, T>> kept = new PriorityQueue<>(
+                Map.Entry.<String, T>comparingByKey().reversed());
+
+        for (T item : items) {
+            String key = keyOf.apply(item);
+
+            if (notBefore(key)) {
+                kept.add(Map.entry(key, item));
+
+                if (kept.size() > fetchSize()) {
+                    kept.poll();
+                }
+            }
+        }
+
+        List<Map.Entry<String, T>> ordered = new ArrayList<>(kept);
+        ordered.sort(Map.Entry.comparingByKey());
+
+        int from = 0;
+        while (from < ordered.size() && from < sentWithLastKey && ordered.get(from).getKey().equals(lastKey)) {
+            from++;
+        }
+
+        int to = Math.min(ordered.size(), from + limit);
+        List<T> page = new ArrayList<>(to - from);
+        ordered.subList(from, to).forEach(entry -> page.add(entry.getValue()));
+
+        return toReply.apply(page, (to == ordered.size()) ? Reply.NO_CURSOR : nextCursor(ordered, from, to));
+    }
+    private <T> String nextCursor(List<Map.Entry<String, T>> ordered, int from, int to) {
+        String key = ordered.get(to - 1).getKey();
+        int sentWithKey = key.equals(lastKey) ? sentWithLastKey : 0;
+
+        for (int i = to - 1; i >= from && ordered.get(i).getKey().equals(key); i--) {
+            sentWithKey++;
+        }
+
+        return encode(key, sentWithKey);
+    }
+}
@@ -0,0 +1,58 @@
+package uni.sofia.fmi.mjt.project.commands;
+
+import uni.sofia.fmi.mjt.project.user.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Result of one command. Constant messages keep their UTF-8 bytes in encodedMessage, so they are copied into
+ * the reply as they are instead of being encoded again for every reply
+ */
+public record Reply(Kind kind, String message, byte[] encodedMessage, List<Task> tasks, List<String> names
+        , String cursor) {
+    public static final String NO_CURSOR = null;
+    public static final byte[] NOT_ENCODED = null;
+
+    public enum Kind {
+        MESSAGE, TASK, TASKS, NAMES
+    }
+
+    public static Reply message(String message) {
+        return new Reply(Kind.MESSAGE, message, NOT_ENCODED, List.of(), List.of(), NO_CURSOR);
+    }
+
+    public static Reply constant(String message) {
+        return new Reply(Kind.MESSAGE, message, message.getBytes(StandardCharsets.UTF_8), List.of(), List.of()
+                , NO_CURSOR);
+    }
+
+    public static Reply task(Task task) {
+        return new Reply(Kind.TASK, null, NOT_ENCODED, List.of(task), List.of(), NO_CURSOR);
+    }
+
+    public static Reply tasks(Collection<Task> tasks) {
+        return tasks(tasks, NO_CURSOR);
+    }
+
+    public static Reply tasks(Collection<Task> tasks, String cursor) {
+        return new Reply(Kind.TASKS, null, NOT_ENCODED, List.copyOf(tasks), List.of(), cursor);
+    }
+
+    public static Reply names(Collection<String> names) {
+        return names(names, NO_CURSOR);
+    }
+
+    public static Reply names(Collection<String> names, String cursor) {
+        return new Reply(Kind.NAMES, null, NOT_ENCODED, List.of(), List.copyOf(names), cursor);
+    }
+
+    public boolean isEncoded() {
+        return encodedMessage != NOT_ENCODED;
+    }
+
+    public boolean hasNextPage() {
+        return cursor != NO_CURSOR;
+    }
+}
@@ -1,8 +1,8 @@
-package uni.sofia.fmi.mjt.project.exceptions;
-
-public class AlreadyExistedException extends RuntimeException {
-    public AlreadyExistedException(String message) {
-        super(message);
-    }
-
-}
+package uni.sofia.fmi.mjt.project.exceptions;
+
+public class AlreadyExistedException extends ClientErrorException {
+    public AlreadyExistedException(String message) {
+        super(message);
+    }
+
+}
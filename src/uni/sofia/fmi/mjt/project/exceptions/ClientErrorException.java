@@ -0,0 +1,13 @@
+package uni.sofia.fmi.mjt.project.exceptions;
+
+/**
+ * Base of the exceptions that describe mistakes of the Client (wrong parameters, missing task, no access...).
+ * They are expected during normal work of the Server, so they don't capture stack trace and aren't suppressible:
+ * message is everything that is sent back to the Client and logged
+ */
+public abstract class ClientErrorException extends RuntimeException {
+    public ClientErrorException(String message) {
+        super(message, null, false, false);
+    }
+
+}
@@ -1,8 +1,8 @@
-package uni.sofia.fmi.mjt.project.exceptions;
-
-public class IllegalAccessException extends RuntimeException {
-    public IllegalAccessException(String message) {
-        super(message);
-    }
-
-}
+package uni.sofia.fmi.mjt.project.exceptions;
+
+public class IllegalAccessException extends ClientErrorException {
+    public IllegalAccessException(String message) {
+        super(message);
+    }
+
+}
@@ -1,8 +1,8 @@
-package uni.sofia.fmi.mjt.project.exceptions;
-
-public class InvalidParametersException extends RuntimeException {
-    public InvalidParametersException(String message) {
-        super(message);
-    }
-
-}
+package uni.sofia.fmi.mjt.project.exceptions;
+
+public class InvalidParametersException extends ClientErrorException {
+    public InvalidParametersException(String message) {
+        super(message);
+    }
+
+}
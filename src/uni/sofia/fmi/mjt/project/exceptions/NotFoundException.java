@@ -1,8 +1,8 @@
-package uni.sofia.fmi.mjt.project.exceptions;
-
-public class NotFoundException extends RuntimeException {
-    public NotFoundException(String message) {
-        super(message);
-    }
-
-}
+package uni.sofia.fmi.mjt.project.exceptions;
+
+public class NotFoundException extends ClientErrorException {
+    public NotFoundException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,341 @@
+package uni.sofia.fmi.mjt.project.protocol;
+
+import uni.sofia.fmi.mjt.project.buffers.BufferPool;
+import uni.sofia.fmi.mjt.project.commands.Command;
+import uni.sofia.fmi.mjt.project.commands.CommandElements;
+import uni.sofia.fmi.mjt.project.commands.CommandType;
+import uni.sofia.fmi.mjt.project.commands.Reply;
+import uni.sofia.fmi.mjt.project.exceptions.InvalidParametersException;
+import uni.sofia.fmi.mjt.project.user.Task;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact format negotiated with a handshake frame <code>[0, version]</code>. Request: opcode byte, varint count
+ * of fields and for every field its tag byte and value. Strings are varint length + UTF-8 bytes, dates are
+ * zig-zag varints of epoch days and flags have no value. Dates and numbers are decoded straight into LocalDate
+ * and Integer, so CommandSchema doesn't parse them again. Reply: kind byte followed by a message, task records
+ * or names. A page of task records or names that isn't the last one ends with the cursor of the next page
+ */
+public class BinaryProtocol implements WireProtocol {
+    public static final int VERSION = 1;
+    private static final byte HANDSHAKE_OPCODE = 0;
+    private static final String NO_NAME = "<reserved>";
+    private static final CommandType UNDEFINED_COMMAND = null;
+    private static final List<String> FIELDS = List.of(NO_NAME, CommandElements.USER_NAME
+            , CommandElements.USER_PASSWORD, CommandElements.TASK_DATE, CommandElements.TASK_DUE_DATE
+            , CommandElements.TASK_CUR_DATE, CommandElements.TASK_DESCRIPTION, CommandElements.TASK_FLAG_COMPLETED
+            , CommandElements.COLLABORATION, CommandElements.ASSIGNEE, CommandElements.FROM_DATE
+            , CommandElements.TO_DATE, CommandElements.WITHIN_DAYS, CommandElements.QUERY, CommandElements.LIMIT
+            , CommandElements.CURSOR);
+    private static final Set<String> DATE_FIELDS = Set.of(CommandElements.TASK_DATE
+            , CommandElements.TASK_DUE_DATE, CommandElements.TASK_CUR_DATE, CommandElements.FROM_DATE
+            , CommandElements.TO_DATE);
+    private static final Set<String> FLAG_FIELDS = Set.of(CommandElements.TASK_FLAG_COMPLETED);
+    private static final Set<String> NUMBER_FIELDS = Set.of(CommandElements.WITHIN_DAYS, CommandElements.LIMIT);
+    private static final Boolean FLAG_VALUE = Boolean.TRUE;
+    private static final int INVALID_NUMBER = -1;
+    private static final int HAS_DATE = 1;
+    private static final int HAS_DUE_DATE = 1 << 1;
+    private static final int HAS_DESCRIPTION = 1 << 2;
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    private static final int MAX_VARINT_BYTES = 5;
+    private static final int NO_ENTRY = 0;
+    private static final ChunkedReply.Layout LAYOUT = new BinaryLayout();
+
+    public static boolean isHandshake(ByteBuffer request) {
+        return request.hasRemaining() && request.get(request.position()) == HANDSHAKE_OPCODE;
+    }
+
+    public static ByteBuffer handshake() {
+        return BufferPool.shared().lease(2).put(HANDSHAKE_OPCODE).put((byte) VERSION).flip();
+    }
+
+    public static int readHandshakeVersion(ByteBuffer request) {
+        try {
+            request.get();
+
+            return readVarint(request);
+        } catch (BufferUnderflowException e) {
+            throw new InvalidParametersException("{Binary handshake need to state protocol version}");
+        }
+    }
+
+    @Override
+    public Command decodeRequest(ByteBuffer request) {
+        try {
+            int opcode = Byte.toUnsignedInt(request.get());
+            CommandType type = CommandType.fromOpcode(opcode);
+
+            if (type == UNDEFINED_COMMAND) {
+                throw new InvalidParametersException(String.format("{Unknown binary opcode <%d>}", opcode));
+            }
+
+            int fieldsCount = readVarint(request);
+            Map<String, Object> args = new HashMap<>();
+
+            for (int i = 0; i < fieldsCount; i++) {
+                String field = lookup(FIELDS, Byte.toUnsignedInt(request.get()), "field");
+                Object value = FLAG_FIELDS.contains(field) ? FLAG_VALUE
+                        : DATE_FIELDS.contains(field) ? readDate(request)
+                        : NUMBER_FIELDS.contains(field) ? Integer.valueOf(readVarint(request)) : readString(request);
+
+                if (args.put(field, value) != null) {
+                    throw new InvalidParametersException(String.format("{Field <%s> is stated more than once}"
+                            , field));
+                }
+            }
+
+            return new Command(type, type.getName(), args);
+        } catch (BufferUnderflowException e) {
+            throw new InvalidParametersException("{Binary request ended in the middle of a field}");
+        }
+    }
+
+    public ByteBuffer encodeRequest(Command command) {
+        if (command.type() == UNDEFINED_COMMAND) {
+            throw new InvalidParametersException(String.format("{There is no binary command for <%s>}"
+                    , command.name()));
+        }
+
+        Encoder encoder = new Encoder();
+        encoder.putByte(command.type().getOpcode());
+        encoder.putVarint(command.args().size());
+
+        for (Map.Entry<String, ?> arg : command.args().entrySet()) {
+            String value = arg.getValue().toString();
+            encoder.putByte(indexOf(FIELDS, arg.getKey(), "field"));
+
+            if (DATE_FIELDS.contains(arg.getKey())) {
+                encoder.putDate(LocalDate.parse(value));
+            } else if (NUMBER_FIELDS.contains(arg.getKey())) {
+                encoder.putVarint(parseNumber(arg.getKey(), value));
+            } else if (!FLAG_FIELDS.contains(arg.getKey())) {
+                encoder.putString(value);
+            }
+        }
+
+        return encoder.finish();
+    }
+
+    @Override
+    public ByteBuffer encodeReply(Reply reply) {
+        return ChunkedReply.encode(reply, LAYOUT);
+    }
+
+    @Override
+    public ChunkedReply encodeChunkedReply(Reply reply) {
+        return new ChunkedReply(reply, LAYOUT);
+    }
+
+    public Reply decodeReply(ByteBuffer reply) {
+        Reply.Kind kind = Reply.Kind.values()[reply.get()];
+
+        return switch (kind) {
+            case MESSAGE -> Reply.message(readString(reply));
+            case TASK -> Reply.task(readTask(reply));
+            case TASKS -> {
+                List<Task> tasks = new ArrayList<>();
+
+                for (int count = readVarint(reply); count > 0; count--) {
+                    tasks.add(readTask(reply));
+                }
+                yield Reply.tasks(tasks, readCursor(reply));
+            }
+            case NAMES -> {
+                List<String> names = new ArrayList<>();
+
+                for (int count = readVarint(reply); count > 0; count--) {
+                    names.add(readString(reply));
+                }
+                yield Reply.names(names, readCursor(reply));
+            }
+        };
+    }
+
+    private static String lookup(List<String> table, int index, String kind) {
+        if (index <= NO_ENTRY || index >= table.size()) {
+            throw new InvalidParametersException(String.format("{Unknown binary %s <%d>}", kind, index));
+        }
+
+        return table.get(index);
+    }
+    private static int indexOf(List<String> table, String value, String kind) {
+        int index = table.indexOf(value);
+
+        if (index <= NO_ENTRY) {
+            throw new InvalidParametersException(String.format("{There is no binary %s for <%s>}", kind, value));
+        }
+
+        return index;
+    }
+    private static int parseNumber(String field, String value) {
+        int number;
+
+        try {
+            number = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            number = INVALID_NUMBER;
+        }
+
+        if (number < 0) {
+            throw new InvalidParametersException(String.format("{Field <%s> need to be a non-negative whole number}"
+                    , field));
+        }
+
+        return number;
+    }
+    private static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+
+        for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+            byte current = buffer.get();
+            value |= (current & 0x7F) << (7 * i);
+
+            if (current >= 0) {
+                return value;
+            }
+        }
+
+        throw new InvalidParametersException("{Binary varint is longer than allowed}");
+    }
+    private static LocalDate readDate(ByteBuffer buffer) {
+        int zigZag = readVarint(buffer);
+
+        return LocalDate.ofEpochDay((zigZag >>> 1) ^ -(zigZag & 1));
+    }
+    private static String readString(ByteBuffer buffer) {
+        int length = readVarint(buffer);
+
+        if (length < 0 || length > buffer.remaining()) {
+            throw new InvalidParametersException(String.format("{Binary string of <%d> bytes doesn't fit" +
+                    " in the rest <%d> bytes of the frame}", length, buffer.remaining()));
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    private static String readCursor(ByteBuffer buffer) {
+        return buffer.hasRemaining() ? readString(buffer) : Reply.NO_CURSOR;
+    }
+    private static Task readTask(ByteBuffer buffer) {
+        String name = readString(buffer);
+        int flags = buffer.get();
+
+        return new Task(name, (flags & HAS_DATE) != 0 ? readDate(buffer) : null
+                , (flags & HAS_DUE_DATE) != 0 ? readDate(buffer) : null
+                , (flags & HAS_DESCRIPTION) != 0 ? readString(buffer) : null);
+    }
+    private static void writeTask(Task task, ResponseWriter writer) {
+        writer.string(task.getName());
+        writer.putByte((task.hasDate() ? HAS_DATE : 0) | (task.hasDueDate() ? HAS_DUE_DATE : 0)
+                | (task.hasDescription() ? HAS_DESCRIPTION : 0));
+
+        if (task.hasDate()) {
+            writer.zigZag(task.getDateDay());
+        }
+        if (task.hasDueDate()) {
+            writer.zigZag(task.getDueDateDay());
+        }
+        if (task.hasDescription()) {
+            writer.string(task.getDescriptionOrNull());
+        }
+    }
+
+    private static class BinaryLayout implements ChunkedReply.Layout {
+        @Override
+        public void writeHead(Reply reply, ResponseWriter writer) {
+            writer.putByte(reply.kind().ordinal());
+
+            switch (reply.kind()) {
+                case MESSAGE -> {
+                    if (reply.isEncoded()) {
+                        writer.string(reply.encodedMessage());
+                    } else {
+                        writer.string(reply.message());
+                    }
+                }
+                case TASK -> writeTask(reply.tasks().get(0), writer);
+                case TASKS -> writer.varint(reply.tasks().size());
+                case NAMES -> writer.varint(reply.names().size());
+            }
+        }
+
+        @Override
+        public void writeItem(Reply reply, int index, ResponseWriter writer) {
+            if (reply.kind() == Reply.Kind.TASKS) {
+                writeTask(reply.tasks().get(index), writer);
+            } else {
+                writer.string(reply.names().get(index));
+            }
+        }
+
+        @Override
+        public void writeTail(Reply reply, ResponseWriter writer) {
+            if (reply.hasNextPage()) {
+                writer.string(reply.cursor());
+            }
+        }
+    }
+
+    private static class Encoder {
+        private ByteBuffer buffer = BufferPool.shared().lease(INITIAL_BUFFER_SIZE).clear();
+
+        void putByte(int value) {
+            ensureRemaining(1);
+            buffer.put((byte) value);
+        }
+
+        void putVarint(int value) {
+            ensureRemaining(MAX_VARINT_BYTES);
+
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void putDate(LocalDate date) {
+            int epochDay = Math.toIntExact(date.toEpochDay());
+
+            putVarint((epochDay << 1) ^ (epochDay >> 31));
+        }
+
+        void putString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+            putVarint(bytes.length);
+            ensureRemaining(bytes.length);
+            buffer.put(bytes);
+        }
+
+        ByteBuffer finish() {
+            return buffer.flip();
+        }
+
+        private void ensureRemaining(int bytes) {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+
+            ByteBuffer grown = BufferPool.shared()
+                    .lease(Math.max(buffer.capacity() * 2, buffer.position() + bytes)).clear();
+
+            buffer.flip();
+            grown.put(buffer);
+            BufferPool.shared().release(buffer);
+            buffer = grown;
+        }
+    }
+}
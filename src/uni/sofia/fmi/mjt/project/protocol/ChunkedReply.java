@@ -0,0 +1,155 @@
+package uni.sofia.fmi.mjt.project.protocol;
+
+import uni.sofia.fmi.mjt.project.buffers.BufferPool;
+import uni.sofia.fmi.mjt.project.commands.Reply;
+import uni.sofia.fmi.mjt.project.user.Task;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reply encoded lazily into chunk frames of at most FrameCodec.CHUNK_FRAME_SIZE bytes. Pieces of the reply
+ * (head, one task or name, tail) are written by the ResponseWriter straight into the frame only when the next frame
+ * is requested, so a long reply never exists as a whole string or byte array. A piece that doesn't fit into
+ * the current frame continues in the next one. Size of the frames, that aren't encoded yet, is estimated from above
+ * (UTF-8 length of the texts and the longest labels of the protocols), so backpressure counts replies by what they
+ * will send
+ */
+public class ChunkedReply {
+    private static final byte[] NO_PENDING = null;
+    private static final int HEAD = -1;
+    private static final int INITIAL_REPLY_SIZE = 256;
+    private static final int MAX_TASK_LABELS_SIZE = 96;
+    private static final int MAX_NAME_LABELS_SIZE = 8;
+    private static final int MAX_HEAD_LABELS_SIZE = 64;
+    private final Reply reply;
+    private final Layout layout;
+    private final int itemsCount;
+    private final long sizeBound;
+    private long encodedBytes;
+    private int nextPiece = HEAD;
+    private byte[] pending = NO_PENDING;
+    private int pendingOffset;
+    private boolean finished;
+
+    /**
+     * Writes the pieces of a reply in the format of one protocol
+     */
+    public interface Layout {
+        void writeHead(Reply reply, ResponseWriter writer);
+
+        void writeItem(Reply reply, int index, ResponseWriter writer);
+
+        void writeTail(Reply reply, ResponseWriter writer);
+    }
+
+    public ChunkedReply(Reply reply, Layout layout) {
+        this.reply = reply;
+        this.layout = layout;
+        this.itemsCount = itemsCount(reply);
+        this.sizeBound = sizeBound(reply);
+    }
+
+    /**
+     * Writes the whole reply into one buffer leased from the BufferPool. Buffer is in read mode
+     */
+    public static ByteBuffer encode(Reply reply, Layout layout) {
+        ByteBuffer buffer = BufferPool.shared().lease(INITIAL_REPLY_SIZE).clear();
+        ResponseWriter writer = ResponseWriter.current();
+
+        writer.begin(buffer);
+        layout.writeHead(reply, writer);
+        for (int i = 0; i < itemsCount(reply); i++) {
+            layout.writeItem(reply, i, writer);
+        }
+        layout.writeTail(reply, writer);
+
+        if (writer.spilledBytes() == 0) {
+            writer.end(buffer);
+            return buffer.flip();
+        }
+
+        ByteBuffer whole = BufferPool.shared().lease(buffer.position() + writer.spilledBytes()).clear();
+        writer.end(whole.put(buffer.flip()));
+        BufferPool.shared().release(buffer);
+
+        return whole.flip();
+    }
+
+    public boolean hasNext() {
+        return !finished;
+    }
+
+    /**
+     * Upper estimate of the bytes of the frames, that aren't encoded yet, frame headers included
+     */
+    public long remainingBytesBound() {
+        return finished ? 0 : Math.max(0, sizeBound - encodedBytes);
+    }
+
+    /**
+     * Encodes the next chunk frame of the reply. Frame is leased from the BufferPool and is in read mode,
+     * so the caller should release it after it is sent
+     */
+    public ByteBuffer nextFrame() {
+        ByteBuffer frame = BufferPool.shared().lease(FrameCodec.CHUNK_FRAME_SIZE).position(FrameCodec.HEADER_SIZE);
+
+        if (pending != NO_PENDING) {
+            int count = Math.min(frame.remaining(), pending.length - pendingOffset);
+
+            frame.put(pending, pendingOffset, count);
+            pendingOffset += count;
+
+            if (pendingOffset == pending.length) {
+                pending = NO_PENDING;
+            }
+        }
+
+        ResponseWriter writer = ResponseWriter.current();
+        while (pending == NO_PENDING && frame.hasRemaining() && nextPiece <= itemsCount) {
+            writer.begin(frame);
+            writePiece(writer);
+            pending = writer.end();
+            pendingOffset = 0;
+        }
+
+        finished = pending == NO_PENDING && nextPiece > itemsCount;
+        frame = FrameCodec.finishChunk(frame, !finished);
+        encodedBytes += frame.remaining();
+
+        return frame;
+    }
+
+    private static int itemsCount(Reply reply) {
+        return switch (reply.kind()) {
+            case MESSAGE, TASK -> 0;
+            case TASKS -> reply.tasks().size();
+            case NAMES -> reply.names().size();
+        };
+    }
+    private static long sizeBound(Reply reply) {
+        long payload = MAX_HEAD_LABELS_SIZE + textBound(reply.message()) + textBound(reply.cursor());
+
+        for (Task task : reply.tasks()) {
+            payload += MAX_TASK_LABELS_SIZE + textBound(task.getName()) + textBound(task.getDescriptionOrNull());
+        }
+        for (String name : reply.names()) {
+            payload += MAX_NAME_LABELS_SIZE + textBound(name);
+        }
+
+        return payload + (payload / FrameCodec.MAX_CHUNK_SIZE + 1) * FrameCodec.HEADER_SIZE;
+    }
+    private static long textBound(String text) {
+        return (text == null) ? 0 : ResponseWriter.utf8Length(text);
+    }
+    private void writePiece(ResponseWriter writer) {
+        if (nextPiece == HEAD) {
+            layout.writeHead(reply, writer);
+        } else if (nextPiece < itemsCount) {
+            layout.writeItem(reply, nextPiece, writer);
+        } else {
+            layout.writeTail(reply, writer);
+        }
+
+        nextPiece++;
+    }
+}
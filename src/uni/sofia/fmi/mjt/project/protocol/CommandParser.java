@@ -0,0 +1,261 @@
+package uni.sofia.fmi.mjt.project.protocol;
+
+import uni.sofia.fmi.mjt.project.commands.Command;
+import uni.sofia.fmi.mjt.project.exceptions.InvalidParametersException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Scans text command in place: only offsets of the name and of every <code>#key:value</code> are kept.
+ * Arguments of the returned Command are a flyweight view over the request, so they are valid until the next
+ * call of parse and only the values that are asked for become Strings. One parser is meant to be used by one thread
+ */
+public class CommandParser {
+    private static final byte NEW_COMMAND_SYMBOL = '#';
+    private static final byte COMMAND_VALUE_DELIMITER = ':';
+    private static final String EMPTY_COMMAND = "";
+    private static final int INITIAL_ARGUMENTS_COUNT = 8;
+    private static final int INITIAL_SCRATCH_SIZE = 256;
+    private static final int NOT_FOUND = -1;
+    private final Arguments arguments = new Arguments();
+    private ByteBuffer source;
+    private int[] segmentStart = new int[INITIAL_ARGUMENTS_COUNT];
+    private int[] segmentEnd = new int[INITIAL_ARGUMENTS_COUNT];
+    private int[] keyEnd = new int[INITIAL_ARGUMENTS_COUNT];
+    private int[] valueEnd = new int[INITIAL_ARGUMENTS_COUNT];
+    private String[] keys = new String[INITIAL_ARGUMENTS_COUNT];
+    private String[] values = new String[INITIAL_ARGUMENTS_COUNT];
+    private byte[] scratch = new byte[INITIAL_SCRATCH_SIZE];
+    private int count;
+
+    public Command parse(ByteBuffer request) {
+        source = request;
+        count = 0;
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+
+        int nameStart = NOT_FOUND;
+        int nameEnd = NOT_FOUND;
+        int limit = lastSegmentEnd(request);
+
+        for (int from = request.position(); from <= limit; ) {
+            int to = indexOf(NEW_COMMAND_SYMBOL, from, limit);
+            int start = stripStart(from, to);
+            int end = stripEnd(start, to);
+
+            if (nameStart == NOT_FOUND) {
+                nameStart = start;
+                nameEnd = end;
+            } else if (!equalRanges(start, end, nameStart, nameEnd)) {
+                addArgument(start, end);
+            }
+
+            from = to + 1;
+        }
+
+        request.position(request.limit());
+
+        String name = (nameStart == NOT_FOUND) ? EMPTY_COMMAND : materialize(nameStart, nameEnd);
+        return new Command(name, arguments);
+    }
+
+    private void addArgument(int start, int end) {
+        int colon = indexOf(COMMAND_VALUE_DELIMITER, start, end);
+        int valueStop = (colon == end) ? end : indexOf(COMMAND_VALUE_DELIMITER, colon + 1, end);
+
+        for (int i = 0; i < count; i++) {
+            if (equalRanges(start, colon, segmentStart[i], keyEnd[i])) {
+                if (equalRanges(start, end, segmentStart[i], segmentEnd[i])) {
+                    return;
+                }
+
+                throw new InvalidParametersException(String.format("{Parameter <%s> is stated more than once" +
+                        " with different values}", materialize(start, colon)));
+            }
+        }
+
+        ensureCapacity();
+        segmentStart[count] = start;
+        segmentEnd[count] = end;
+        keyEnd[count] = colon;
+        valueEnd[count] = valueStop;
+        count++;
+    }
+    private void ensureCapacity() {
+        if (count < segmentStart.length) {
+            return;
+        }
+
+        int newLength = segmentStart.length * 2;
+        segmentStart = Arrays.copyOf(segmentStart, newLength);
+        segmentEnd = Arrays.copyOf(segmentEnd, newLength);
+        keyEnd = Arrays.copyOf(keyEnd, newLength);
+        valueEnd = Arrays.copyOf(valueEnd, newLength);
+        keys = Arrays.copyOf(keys, newLength);
+        values = Arrays.copyOf(values, newLength);
+    }
+    private int lastSegmentEnd(ByteBuffer request) {
+        int end = request.limit();
+
+        while (end > request.position() && request.get(end - 1) == NEW_COMMAND_SYMBOL) {
+            end--;
+        }
+
+        return (end == request.position()) ? end - 1 : end;
+    }
+    private int indexOf(byte symbol, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (source.get(i) == symbol) {
+                return i;
+            }
+        }
+
+        return to;
+    }
+    private int stripStart(int from, int to) {
+        while (from < to && isWhitespace(source.get(from))) {
+            from++;
+        }
+
+        return from;
+    }
+    private int stripEnd(int from, int to) {
+        while (to > from && isWhitespace(source.get(to - 1))) {
+            to--;
+        }
+
+        return to;
+    }
+    private boolean isWhitespace(byte symbol) {
+        return symbol >= 0 && Character.isWhitespace(symbol);
+    }
+    private boolean equalRanges(int firstStart, int firstEnd, int secondStart, int secondEnd) {
+        if (firstEnd - firstStart != secondEnd - secondStart) {
+            return false;
+        }
+
+        for (int i = 0; i < firstEnd - firstStart; i++) {
+            if (source.get(firstStart + i) != source.get(secondStart + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+    private boolean rangeEquals(int start, int end, String text) {
+        if (end - start != text.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) != source.get(start + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+    private int find(Object key) {
+        if (key instanceof String text) {
+            for (int i = 0; i < count; i++) {
+                if (rangeEquals(segmentStart[i], keyEnd[i], text)) {
+                    return i;
+                }
+            }
+        }
+
+        return NOT_FOUND;
+    }
+    private String keyAt(int index) {
+        if (keys[index] == null) {
+            keys[index] = materialize(segmentStart[index], keyEnd[index]);
+        }
+
+        return keys[index];
+    }
+    private String valueAt(int index) {
+        if (values[index] == null) {
+            int start = Math.min(keyEnd[index] + 1, valueEnd[index]);
+            values[index] = materialize(start, valueEnd[index]);
+        }
+
+        return values[index];
+    }
+    private String materialize(int start, int end) {
+        int length = end - start;
+
+        if (source.hasArray()) {
+            return new String(source.array(), source.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+
+        source.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private class Arguments extends AbstractMap<String, String> {
+        private final Set<Map.Entry<String, String>> entries = new Entries();
+
+        @Override
+        public int size() {
+            return count;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return find(key) != NOT_FOUND;
+        }
+
+        @Override
+        public String get(Object key) {
+            int index = find(key);
+
+            return (index == NOT_FOUND) ? null : valueAt(index);
+        }
+
+        @Override
+        public Set<Map.Entry<String, String>> entrySet() {
+            return entries;
+        }
+    }
+
+    private class Entries extends AbstractSet<Map.Entry<String, String>> {
+        @Override
+        public int size() {
+            return count;
+        }
+
+        @Override
+        public Iterator<Map.Entry<String, String>> iterator() {
+            return new Iterator<>() {
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < count;
+                }
+
+                @Override
+                public Map.Entry<String, String> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    int index = next++;
+                    return new AbstractMap.SimpleImmutableEntry<>(keyAt(index), valueAt(index));
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package uni.sofia.fmi.mjt.project.protocol;
+
+import uni.sofia.fmi.mjt.project.buffers.BufferPool;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Length-prefixed frames: 4-byte header with the payload length and the payload. A reply can be sent as a chain of
+ * chunk frames: every chunk except the last one has the continuation bit (the highest bit) set in its header.
+ * Requests are always sent as single frames
+ */
+public abstract class FrameCodec {
+    public static final int HEADER_SIZE = Integer.BYTES;
+    public static final int MAX_FRAME_SIZE = 1 << 20;
+    public static final int CHUNK_FRAME_SIZE = 8 << 10;
+    public static final int MAX_CHUNK_SIZE = CHUNK_FRAME_SIZE - HEADER_SIZE;
+    private static final int CONTINUATION = 1 << 31;
+    private static final int MIN_FRAME_SIZE = 0;
+    private static final ByteBuffer INCOMPLETE_FRAME = null;
+
+    public static ByteBuffer encode(ByteBuffer payload) {
+        ByteBuffer frame = BufferPool.shared().lease(HEADER_SIZE + payload.remaining());
+
+        frame.putInt(payload.remaining());
+        frame.put(payload);
+        frame.flip();
+
+        return frame;
+    }
+
+    public static ByteBuffer encode(String message) {
+        return encode(ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Writes header of the chunk frame, whose payload was already put right after the header place.
+     * Frame is returned in read mode
+     */
+    public static ByteBuffer finishChunk(ByteBuffer frame, boolean continued) {
+        int length = frame.position() - HEADER_SIZE;
+
+        return frame.putInt(0, continued ? length | CONTINUATION : length).flip();
+    }
+
+    /**
+     * Takes the next complete frame out of buffer that is in read mode. When the whole frame
+     * is not received yet, position of the buffer is left untouched and null is returned
+     */
+    public static ByteBuffer nextFrame(ByteBuffer buffer) throws ProtocolException {
+        if (buffer.remaining() < HEADER_SIZE) {
+            return INCOMPLETE_FRAME;
+        }
+
+        int length = buffer.getInt(buffer.position());
+        checkLength(length);
+
+        if (buffer.remaining() < HEADER_SIZE + length) {
+            return INCOMPLETE_FRAME;
+        }
+
+        int payloadStart = buffer.position() + HEADER_SIZE;
+        ByteBuffer payload = buffer.slice(payloadStart, length);
+        buffer.position(payloadStart + length);
+
+        return payload;
+    }
+
+    /**
+     * Blocking read of one whole frame. Payload is leased from the BufferPool and belongs to the caller.
+     * Returns null when the channel is closed right before the next frame
+     */
+    public static ByteBuffer readFrame(ReadableByteChannel channel, ByteBuffer header) throws IOException {
+        if (!readHeader(channel, header)) {
+            return INCOMPLETE_FRAME;
+        }
+
+        int length = header.getInt(0);
+        checkLength(length);
+
+        return readPayload(channel, length).flip();
+    }
+
+    /**
+     * Blocking read of one whole reply, that can be sent as a chain of chunk frames. Payloads of all chunks
+     * are joined into one buffer leased from the BufferPool. Returns null when the channel is closed right
+     * before the reply
+     */
+    public static ByteBuffer readReply(ReadableByteChannel channel, ByteBuffer header) throws IOException {
+        if (!readHeader(channel, header)) {
+            return INCOMPLETE_FRAME;
+        }
+
+        ByteBuffer reply = BufferPool.shared().lease(0).clear();
+
+        while (true) {
+            int length = header.getInt(0) & ~CONTINUATION;
+            checkLength(length);
+
+            ByteBuffer payload = readPayload(channel, length).flip();
+            reply = append(reply, payload);
+            BufferPool.shared().release(payload);
+
+            if ((header.getInt(0) & CONTINUATION) == 0) {
+                return reply.flip();
+            }
+
+            if (!readHeader(channel, header)) {
+                throw new EOFException("{Channel was closed in the middle of a chunked reply}");
+            }
+        }
+    }
+
+    public static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    public static void checkLength(int length) throws ProtocolException {
+        if (length < MIN_FRAME_SIZE || length > MAX_FRAME_SIZE) {
+            throw new ProtocolException(String.format("{Frame length <%d> is out of allowed range [%d, %d]}"
+                    , length, MIN_FRAME_SIZE, MAX_FRAME_SIZE));
+        }
+    }
+    private static boolean readHeader(ReadableByteChannel channel, ByteBuffer header) throws IOException {
+        header.clear().limit(HEADER_SIZE);
+
+        return readFully(channel, header);
+    }
+    private static ByteBuffer readPayload(ReadableByteChannel channel, int length) throws IOException {
+        ByteBuffer payload = BufferPool.shared().lease(length);
+
+        if (!readFully(channel, payload)) {
+            throw new EOFException("{Channel was closed in the middle of a frame}");
+        }
+
+        return payload;
+    }
+    private static ByteBuffer append(ByteBuffer target, ByteBuffer payload) {
+        if (target.remaining() >= payload.remaining()) {
+            return target.put(payload);
+        }
+
+        ByteBuffer grown = BufferPool.shared()
+                .lease(Math.max(target.capacity() * 2, target.position() + payload.remaining())).clear();
+
+        grown.put(target.flip()).put(payload);
+        BufferPool.shared().release(target);
+
+        return grown;
+    }
+    private static boolean readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < MIN_FRAME_SIZE) {
+                if (buffer.position() > 0) {
+                    throw new EOFException("{Channel was closed in the middle of a frame}");
+                }
+
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
@@ -0,0 +1,243 @@
+package uni.sofia.fmi.mjt.project.protocol;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * Writes pieces of a reply straight into the outgoing frame. Text is encoded with a reused UTF-8 CharsetEncoder
+ * through a reused CharBuffer, numbers and dates are written digit by digit and constant parts are copied from
+ * pre-encoded byte arrays, so no Strings or byte arrays are created per reply. Bytes that don't fit into the frame
+ * are kept in a reused overflow buffer, together with everything written after them, and handed to the caller
+ * at the end of the piece. Surrogate pair split by the end of the CharBuffer is carried into its next fill and
+ * lone surrogates are written as '?', the same way as String.getBytes does.
+ * One writer per thread is reused
+ */
+public class ResponseWriter {
+    private static final ThreadLocal<ResponseWriter> WRITERS = ThreadLocal.withInitial(ResponseWriter::new);
+    private static final byte[] NO_OVERFLOW = null;
+    private static final int INITIAL_OVERFLOW_SIZE = 256;
+    private static final int INITIAL_CHARS_SIZE = 256;
+    private static final int MAX_VARINT_BYTES = 5;
+    private static final int MAX_SHORT_YEAR = 9999;
+    private static final int RADIX = 10;
+    private static final int REPLACEMENT_BYTES = 1;
+    private static final String NO_TEXT = null;
+    private static final String NULL_TEXT = "null";
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final byte[] digits = new byte[Long.toString(Long.MIN_VALUE).length()];
+    private CharBuffer chars = CharBuffer.allocate(INITIAL_CHARS_SIZE);
+    private ByteBuffer overflow = ByteBuffer.allocate(INITIAL_OVERFLOW_SIZE);
+    private ByteBuffer out;
+
+    public static ResponseWriter current() {
+        return WRITERS.get();
+    }
+
+    public static byte[] constant(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Count of the bytes, that text takes in UTF-8 (lone surrogates are counted as the replacement '?')
+     */
+    public static int utf8Length(String text) {
+        int length = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char current = text.charAt(i);
+
+            if (current < 0x80) {
+                length++;
+            } else if (current < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(current) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(current)) {
+                length += REPLACEMENT_BYTES;
+            } else {
+                length += 3;
+            }
+        }
+
+        return length;
+    }
+
+    public void begin(ByteBuffer frame) {
+        out = frame;
+        overflow.clear();
+    }
+
+    /**
+     * Ends the piece. Returns bytes of the piece, that didn't fit into the frame, or null when the whole piece fit
+     */
+    public byte[] end() {
+        out = null;
+
+        if (overflow.position() == 0) {
+            return NO_OVERFLOW;
+        }
+
+        byte[] rest = new byte[overflow.flip().remaining()];
+        overflow.get(rest).clear();
+
+        return rest;
+    }
+
+    /**
+     * Ends the piece and puts bytes of the piece, that didn't fit into the frame, into the given buffer
+     */
+    public void end(ByteBuffer rest) {
+        out = null;
+        rest.put(overflow.flip());
+        overflow.clear();
+    }
+
+    public int spilledBytes() {
+        return overflow.position();
+    }
+
+    public ResponseWriter bytes(byte[] bytes) {
+        int direct = isSpilled() ? 0 : Math.min(out.remaining(), bytes.length);
+
+        out.put(bytes, 0, direct);
+        if (direct < bytes.length) {
+            ensureOverflow(bytes.length - direct).put(bytes, direct, bytes.length - direct);
+        }
+
+        return this;
+    }
+
+    public ResponseWriter putByte(int value) {
+        if (!isSpilled() && out.hasRemaining()) {
+            out.put((byte) value);
+        } else {
+            ensureOverflow(1).put((byte) value);
+        }
+
+        return this;
+    }
+
+    /**
+     * Writes UTF-8 bytes of the text. Null is written as "null", the same way as String.valueOf does
+     */
+    public ResponseWriter text(String text) {
+        String value = (text == NO_TEXT) ? NULL_TEXT : text;
+        int from = 0;
+
+        encoder.reset();
+        chars.clear();
+        do {
+            int to = Math.min(value.length(), from + chars.remaining());
+
+            value.getChars(from, to, chars.array(), chars.position());
+            chars.position(chars.position() + to - from).flip();
+            from = to;
+
+            encode(from == value.length());
+            chars.compact();
+        } while (from < value.length());
+
+        return this;
+    }
+
+    public ResponseWriter number(long value) {
+        if (value < 0) {
+            putByte('-');
+        }
+
+        int count = 0;
+        do {
+            digits[count++] = (byte) ('0' + Math.abs(value % RADIX));
+            value /= RADIX;
+        } while (value != 0);
+
+        while (count > 0) {
+            putByte(digits[--count]);
+        }
+
+        return this;
+    }
+
+    public ResponseWriter date(LocalDate date) {
+        if (date.getYear() < 0 || date.getYear() > MAX_SHORT_YEAR) {
+            return text(date.toString());
+        }
+
+        twoDigits(date.getYear() / 100);
+        twoDigits(date.getYear() % 100);
+        putByte('-');
+        twoDigits(date.getMonthValue());
+        putByte('-');
+
+        return twoDigits(date.getDayOfMonth());
+    }
+
+    public ResponseWriter varint(int value) {
+        while ((value & ~0x7F) != 0) {
+            putByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        return putByte(value);
+    }
+
+    public ResponseWriter zigZag(int value) {
+        return varint((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * String of the binary protocol: varint count of its UTF-8 bytes followed by the bytes
+     */
+    public ResponseWriter string(String text) {
+        String value = (text == NO_TEXT) ? NULL_TEXT : text;
+
+        return varint(utf8Length(value)).text(value);
+    }
+
+    public ResponseWriter string(byte[] encoded) {
+        return varint(encoded.length).bytes(encoded);
+    }
+
+    private boolean isSpilled() {
+        return spilledBytes() > 0;
+    }
+    private ResponseWriter twoDigits(int value) {
+        putByte('0' + value / RADIX);
+
+        return putByte('0' + value % RADIX);
+    }
+    private void encode(boolean endOfInput) {
+        CoderResult result = isSpilled() ? CoderResult.OVERFLOW : encoder.encode(chars, out, endOfInput);
+        while (result.isOverflow()) {
+            result = encoder.encode(chars, ensureOverflow(Math.max(chars.remaining(), MAX_VARINT_BYTES))
+                    , endOfInput);
+        }
+
+        if (result.isError()) {
+            try {
+                result.throwException();
+            } catch (CharacterCodingException e) {
+                throw new IllegalStateException("{Text of the reply can't be encoded as UTF-8}", e);
+            }
+        }
+    }
+    private ByteBuffer ensureOverflow(int bytes) {
+        if (overflow.remaining() < bytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(overflow.capacity() * 2, overflow.position() + bytes));
+
+            overflow = grown.put(overflow.flip());
+        }
+
+        return overflow;
+    }
+}
@@ -0,0 +1,128 @@
+package uni.sofia.fmi.mjt.project.protocol;
+
+import uni.sofia.fmi.mjt.project.commands.Command;
+import uni.sofia.fmi.mjt.project.commands.Reply;
+import uni.sofia.fmi.mjt.project.user.Task;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+public class TextProtocol implements WireProtocol {
+    private static final String NEXT_PAGE_FORMAT = "\n{There are more items. Next page: #cursor:%s}";
+    private static final byte[] NEXT_PAGE_START =
+            ResponseWriter.constant("\n{There are more items. Next page: #cursor:");
+    private static final byte[] NEXT_PAGE_END = ResponseWriter.constant("}");
+    private static final byte[] LIST_START = ResponseWriter.constant("[");
+    private static final byte[] LIST_SEPARATOR = ResponseWriter.constant(", ");
+    private static final byte[] LIST_END = ResponseWriter.constant("]");
+    private static final byte[] TASK_START = ResponseWriter.constant("Task{name='");
+    private static final byte[] TASK_DATE = ResponseWriter.constant("', date=");
+    private static final byte[] TASK_DUE_DATE = ResponseWriter.constant(", dueDate=");
+    private static final byte[] TASK_DESCRIPTION = ResponseWriter.constant(", description=");
+    private static final byte[] TASK_END = ResponseWriter.constant("}");
+    private static final byte[] OPTIONAL_START = ResponseWriter.constant("Optional[");
+    private static final byte[] OPTIONAL_END = ResponseWriter.constant("]");
+    private static final byte[] MISSING = ResponseWriter.constant(" ");
+    private static final ChunkedReply.Layout LAYOUT = new TextLayout();
+    private static final ThreadLocal<CommandParser> PARSERS = ThreadLocal.withInitial(CommandParser::new);
+
+    @Override
+    public Command decodeRequest(ByteBuffer request) {
+        return PARSERS.get().parse(request);
+    }
+
+    @Override
+    public ByteBuffer encodeReply(Reply reply) {
+        return ChunkedReply.encode(reply, LAYOUT);
+    }
+
+    @Override
+    public ChunkedReply encodeChunkedReply(Reply reply) {
+        return new ChunkedReply(reply, LAYOUT);
+    }
+
+    public Command parse(String input) {
+        return PARSERS.get().parse(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public String render(Reply reply) {
+        String rendered = switch (reply.kind()) {
+            case MESSAGE -> String.valueOf(reply.message());
+            case TASK -> reply.tasks().get(0).toString();
+            case TASKS -> reply.tasks().toString();
+            case NAMES -> reply.names().toString();
+        };
+
+        return reply.hasNextPage() ? rendered + String.format(NEXT_PAGE_FORMAT, reply.cursor()) : rendered;
+    }
+
+    private static void writeTask(Task task, ResponseWriter writer) {
+        writer.bytes(TASK_START).text(task.getName());
+        writeDate(task.getDateDay(), TASK_DATE, writer);
+        writeDate(task.getDueDateDay(), TASK_DUE_DATE, writer);
+        writer.bytes(TASK_DESCRIPTION);
+
+        if (task.hasDescription()) {
+            writer.text(task.getDescriptionOrNull());
+        } else {
+            writer.bytes(MISSING);
+        }
+
+        writer.bytes(TASK_END);
+    }
+    private static void writeDate(int epochDay, byte[] label, ResponseWriter writer) {
+        writer.bytes(label);
+
+        if (epochDay != Task.NO_DATE) {
+            writer.bytes(OPTIONAL_START).date(LocalDate.ofEpochDay(epochDay)).bytes(OPTIONAL_END);
+        } else {
+            writer.bytes(MISSING);
+        }
+    }
+
+    /**
+     * Same text as render, written piece by piece. Task is written as its toString and list as
+     * List.toString of its items
+     */
+    private static class TextLayout implements ChunkedReply.Layout {
+        @Override
+        public void writeHead(Reply reply, ResponseWriter writer) {
+            switch (reply.kind()) {
+                case MESSAGE -> {
+                    if (reply.isEncoded()) {
+                        writer.bytes(reply.encodedMessage());
+                    } else {
+                        writer.text(reply.message());
+                    }
+                }
+                case TASK -> writeTask(reply.tasks().get(0), writer);
+                case TASKS, NAMES -> writer.bytes(LIST_START);
+            }
+        }
+
+        @Override
+        public void writeItem(Reply reply, int index, ResponseWriter writer) {
+            if (index > 0) {
+                writer.bytes(LIST_SEPARATOR);
+            }
+
+            if (reply.kind() == Reply.Kind.TASKS) {
+                writeTask(reply.tasks().get(index), writer);
+            } else {
+                writer.text(reply.names().get(index));
+            }
+        }
+
+        @Override
+        public void writeTail(Reply reply, ResponseWriter writer) {
+            if (reply.kind() == Reply.Kind.TASKS || reply.kind() == Reply.Kind.NAMES) {
+                writer.bytes(LIST_END);
+            }
+
+            if (reply.hasNextPage()) {
+                writer.bytes(NEXT_PAGE_START).text(reply.cursor()).bytes(NEXT_PAGE_END);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package uni.sofia.fmi.mjt.project.protocol;
+
+import uni.sofia.fmi.mjt.project.commands.Command;
+import uni.sofia.fmi.mjt.project.commands.Reply;
+
+import java.nio.ByteBuffer;
+
+public interface WireProtocol {
+
+    /**
+     * Turns payload of one frame sent by Client into Command instance
+     *
+     * @param request payload of the frame in read mode
+     * @return Command with its name and parameters
+     * @throws uni.sofia.fmi.mjt.project.exceptions.InvalidParametersException when payload is malformed
+     */
+    Command decodeRequest(ByteBuffer request);
+
+    /**
+     * Writes Server reply in the format of this protocol
+     *
+     * @param reply Reply to be sent to Client
+     * @return ByteBuffer in read mode. It is leased from BufferPool, so the caller should release it
+     */
+    ByteBuffer encodeReply(Reply reply);
+
+    /**
+     * Writes Server reply in the format of this protocol lazily, piece after piece (one task, one name...).
+     * Pieces are encoded only when the next chunk frame is requested, so bytes are the same as of encodeReply,
+     * but they are split into a chain of chunk frames
+     *
+     * @param reply Reply to be sent to Client
+     * @return ChunkedReply, that produces the frames of the reply one by one
+     */
+    ChunkedReply encodeChunkedReply(Reply reply);
+}
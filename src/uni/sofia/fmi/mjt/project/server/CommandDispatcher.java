@@ -0,0 +1,134 @@
+package uni.sofia.fmi.mjt.project.server;
+
+import uni.sofia.fmi.mjt.project.buffers.BufferPool;
+import uni.sofia.fmi.mjt.project.commands.CommandExecutor;
+import uni.sofia.fmi.mjt.project.exceptions.StackTraceConverter;
+import uni.sofia.fmi.mjt.project.protocol.ChunkedReply;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class CommandDispatcher implements AutoCloseable {
+    private static final long TERMINATION_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
+    private static final String NOT_LOGGED_IN = null;
+    private static final String FAILED_BATCH_MESSAGE = """
+            {Command of client <%d> wasn't executed. The server is shutting down or failed to process it.
+            Please, try again}""";
+    private final CommandExecutor executer;
+    private final ExecutorService[] shards;
+
+    public CommandDispatcher(CommandExecutor executer, int shardsCount) {
+        this.executer = executer;
+        this.shards = new ExecutorService[shardsCount];
+
+        for (int i = 0; i < shardsCount; i++) {
+            String threadName = "command-shard-" + i;
+
+            shards[i] = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, threadName);
+                thread.setDaemon(true);
+
+                return thread;
+            });
+        }
+    }
+
+    public CompletableFuture<List<ChunkedReply>> dispatch(int remotePort, List<ByteBuffer> commands) {
+        CompletableFuture<List<ChunkedReply>> result = new CompletableFuture<>();
+
+        submitBatch(remotePort, commands, new ArrayList<>(commands.size()), result);
+        return result;
+    }
+
+    /**
+     * Replies to a batch, that failed as a whole (its future completed exceptionally): failure is logged and every
+     * command of the batch gets an error message, so a pipelining Client still gets one reply per command
+     */
+    public List<ChunkedReply> failedReplies(int remotePort, int commandsCount, Throwable failure) {
+        String message = String.format(FAILED_BATCH_MESSAGE, remotePort);
+        List<ChunkedReply> replies = new ArrayList<>(commandsCount);
+
+        Server.writeErrorToFile(StackTraceConverter.getStackTrace(failure, remotePort, message));
+        for (int i = 0; i < commandsCount; i++) {
+            replies.add(executer.replyMessage(message, remotePort));
+        }
+
+        return replies;
+    }
+
+    public void closeSession(int remotePort) {
+        try {
+            shardFor(remotePort).execute(() -> executer.closeSession(remotePort));
+        } catch (RejectedExecutionException e) {
+            System.err.printf("-> {Session of client <%d> can't be closed while shutting down}\n", remotePort);
+        }
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService shard : shards) {
+            shard.shutdown();
+        }
+
+        try {
+            for (ExecutorService shard : shards) {
+                shard.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submitBatch(int remotePort, List<ByteBuffer> commands, List<ChunkedReply> replies
+            , CompletableFuture<List<ChunkedReply>> result) {
+
+        ExecutorService shard = shardFor(remotePort);
+
+        try {
+            shard.execute(() -> runBatch(remotePort, shard, commands, replies, result));
+        } catch (RejectedExecutionException e) {
+            releaseUnexecuted(commands, replies.size());
+            result.completeExceptionally(e);
+        }
+    }
+    private void runBatch(int remotePort, ExecutorService shard, List<ByteBuffer> commands
+            , List<ChunkedReply> replies, CompletableFuture<List<ChunkedReply>> result) {
+
+        try {
+            while (replies.size() < commands.size()) {
+                replies.add(execute(commands.get(replies.size()), remotePort));
+
+                if (replies.size() < commands.size() && shardFor(remotePort) != shard) {
+                    submitBatch(remotePort, commands, replies, result);
+                    return;
+                }
+            }
+
+            result.complete(replies);
+        } catch (Throwable e) {
+            releaseUnexecuted(commands, replies.size());
+            result.completeExceptionally(e);
+        }
+    }
+    private ChunkedReply execute(ByteBuffer command, int remotePort) {
+        ChunkedReply reply = executer.executeChunked(command, remotePort);
+        BufferPool.shared().release(command);
+
+        return reply;
+    }
+    private static void releaseUnexecuted(List<ByteBuffer> commands, int executedCount) {
+        commands.subList(executedCount, commands.size()).forEach(BufferPool.shared()::release);
+    }
+    private ExecutorService shardFor(int remotePort) {
+        String owner = executer.getSessionOwner(remotePort);
+        int hash = (owner == NOT_LOGGED_IN) ? Integer.hashCode(remotePort) : owner.hashCode();
+
+        return shards[Math.floorMod(hash, shards.length)];
+    }
+}
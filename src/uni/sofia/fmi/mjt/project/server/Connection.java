@@ -0,0 +1,210 @@
+package uni.sofia.fmi.mjt.project.server;
+
+import uni.sofia.fmi.mjt.project.buffers.BufferPool;
+import uni.sofia.fmi.mjt.project.protocol.ChunkedReply;
+import uni.sofia.fmi.mjt.project.protocol.FrameCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * State of one client socket of an EventLoop. Replies are queued as ChunkedReply and encoded into chunk frames only
+ * while the socket is writable: at most OUTPUT_WINDOW bytes of encoded frames wait to be written at a time.
+ * Every reply, that isn't encoded yet, is counted in the queued output bytes by the upper estimate of its frames.
+ * Frames read while a batch is executing wait as commands: once they reach COMMANDS_WINDOW bytes (with headers),
+ * the backlog is full and the EventLoop stops reading until the batch is replied
+ */
+public class Connection implements IdleTimerWheel.Entry {
+    private static final int INITIAL_INPUT_SIZE = 2048;
+    private static final int MAX_GATHERED_BUFFERS = 64;
+    private static final int OUTPUT_WINDOW = 64 << 10;
+    private static final int COMMANDS_WINDOW = 64 << 10;
+    private final SocketChannel channel;
+    private final int remotePort;
+    private final Deque<ByteBuffer> output;
+    private final Deque<ChunkedReply> replies;
+    private final Deque<ByteBuffer> commands;
+    private boolean executing;
+    private boolean readingPaused;
+    private boolean readingPausedByCommands;
+    private long queuedCommandBytes;
+    private long queuedOutputBytes;
+    private long unencodedOutputBytes;
+    private volatile long lastActivity;
+    private ByteBuffer input;
+
+    public Connection(SocketChannel channel) {
+        this.channel = channel;
+        this.remotePort = channel.socket().getPort();
+        this.output = new ArrayDeque<>();
+        this.replies = new ArrayDeque<>();
+        this.commands = new ArrayDeque<>();
+        this.input = BufferPool.shared().lease(INITIAL_INPUT_SIZE).clear();
+        this.lastActivity = System.currentTimeMillis();
+    }
+
+    public SocketChannel getChannel() {
+        return channel;
+    }
+
+    public int getRemotePort() {
+        return remotePort;
+    }
+
+    @Override
+    public long getLastActivity() {
+        return lastActivity;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return channel.isOpen();
+    }
+
+    public int read() throws IOException {
+        lastActivity = System.currentTimeMillis();
+        ensureInputSpace();
+
+        int readBytes = channel.read(input);
+        input.flip();
+
+        return readBytes;
+    }
+
+    public ByteBuffer nextFrame() throws IOException {
+        return FrameCodec.nextFrame(input);
+    }
+
+    public void finishReading() {
+        input.compact();
+    }
+
+    public void addCommand(ByteBuffer frame) {
+        ByteBuffer copy = BufferPool.shared().lease(frame.remaining());
+
+        queuedCommandBytes += FrameCodec.HEADER_SIZE + frame.remaining();
+        commands.addLast(copy.put(frame).flip());
+    }
+
+    public List<ByteBuffer> pollCommands() {
+        List<ByteBuffer> batch = new ArrayList<>(commands);
+        commands.clear();
+        queuedCommandBytes = 0;
+
+        return batch;
+    }
+
+    public boolean isCommandBacklogFull() {
+        return queuedCommandBytes >= COMMANDS_WINDOW;
+    }
+
+    public boolean isExecuting() {
+        return executing;
+    }
+
+    public void setExecuting(boolean executing) {
+        this.executing = executing;
+    }
+
+    public boolean isReadingPaused() {
+        return readingPaused;
+    }
+
+    public void setReadingPaused(boolean readingPaused) {
+        this.readingPaused = readingPaused;
+    }
+
+    public boolean isReadingPausedByCommands() {
+        return readingPausedByCommands;
+    }
+
+    public void setReadingPausedByCommands(boolean readingPausedByCommands) {
+        this.readingPausedByCommands = readingPausedByCommands;
+    }
+
+    public long getQueuedOutputBytes() {
+        return queuedOutputBytes + unencodedOutputBytes;
+    }
+
+    public void enqueue(ChunkedReply reply) {
+        replies.addLast(reply);
+        unencodedOutputBytes += reply.remainingBytesBound();
+        encodeFrames();
+    }
+
+    public boolean hasPendingOutput() {
+        return !output.isEmpty() || !replies.isEmpty();
+    }
+
+    public boolean flush() throws IOException {
+        lastActivity = System.currentTimeMillis();
+
+        while (encodeFrames()) {
+            ByteBuffer[] gathered = output.stream().limit(MAX_GATHERED_BUFFERS).toArray(ByteBuffer[]::new);
+            queuedOutputBytes -= channel.write(gathered);
+            boolean partiallyWritten = gathered[gathered.length - 1].hasRemaining();
+
+            while (!output.isEmpty() && !output.peekFirst().hasRemaining()) {
+                BufferPool.shared().release(output.pollFirst());
+            }
+
+            if (partiallyWritten) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public void close() throws IOException {
+        channel.close();
+
+        BufferPool.shared().release(input);
+        commands.forEach(BufferPool.shared()::release);
+        output.forEach(BufferPool.shared()::release);
+
+        input = null;
+        commands.clear();
+        output.clear();
+        replies.clear();
+        queuedCommandBytes = 0;
+        queuedOutputBytes = 0;
+        unencodedOutputBytes = 0;
+    }
+
+    private boolean encodeFrames() {
+        while (!replies.isEmpty() && queuedOutputBytes < OUTPUT_WINDOW) {
+            ChunkedReply reply = replies.peekFirst();
+            long boundBefore = reply.remainingBytesBound();
+            ByteBuffer frame = reply.nextFrame();
+
+            queuedOutputBytes += frame.remaining();
+            unencodedOutputBytes -= boundBefore - reply.remainingBytesBound();
+            output.addLast(frame);
+
+            if (!reply.hasNext()) {
+                replies.pollFirst();
+            }
+        }
+
+        return !output.isEmpty();
+    }
+    private void ensureInputSpace() {
+        if (input.hasRemaining()) {
+            return;
+        }
+
+        int newCapacity = Math.min(input.capacity() * 2, FrameCodec.HEADER_SIZE + FrameCodec.MAX_FRAME_SIZE);
+        ByteBuffer grown = BufferPool.shared().lease(newCapacity).clear();
+
+        input.flip();
+        grown.put(input);
+        BufferPool.shared().release(input);
+        input = grown;
+    }
+}
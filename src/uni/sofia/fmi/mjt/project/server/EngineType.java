@@ -0,0 +1,27 @@
+package uni.sofia.fmi.mjt.project.server;
+
+public enum EngineType {
+    SINGLE_REACTOR("single"),
+    MULTI_REACTOR("multi"),
+    VIRTUAL_THREADS("virtual");
+
+    private final String optionName;
+
+    EngineType(String optionName) {
+        this.optionName = optionName;
+    }
+
+    public String getOptionName() {
+        return optionName;
+    }
+
+    public static EngineType fromOption(String optionName) {
+        for (EngineType type : values()) {
+            if (type.optionName.equals(optionName)) {
+                return type;
+            }
+        }
+
+        throw new IllegalArgumentException(String.format("{There is no server engine named <%s>}", optionName));
+    }
+}
@@ -0,0 +1,285 @@
+package uni.sofia.fmi.mjt.project.server;
+
+import uni.sofia.fmi.mjt.project.exceptions.StackTraceConverter;
+import uni.sofia.fmi.mjt.project.protocol.ChunkedReply;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class EventLoop implements Runnable {
+    private static final int MIN_BYTES_COUNT = 0;
+    private static final int UNDEFINED_PORT = 0;
+    private static final long TICK_MILLIS = TimeUnit.SECONDS.toMillis(1);
+    private static final ByteBuffer NO_FRAME = null;
+    private static final SocketChannel NO_CHANNEL = null;
+    private static final String UNHANDLED_COMMAND_MESSAGE = """
+            {Client <%s> -> Processing client's command had caused an error.
+            The process was interrupted or the client session is already terminated}""";
+    private final String name;
+    private final Selector selector;
+    private final CommandDispatcher dispatcher;
+    private final OutputLimits outputLimits;
+    private final Queue<SocketChannel> pendingChannels;
+    private final Queue<Runnable> replies;
+    private final IdleTimerWheel<Connection> idleConnections;
+    private Supplier<EventLoop> acceptTarget;
+
+    public EventLoop(String name, CommandDispatcher dispatcher, OutputLimits outputLimits, long idleTimeoutMillis)
+            throws IOException {
+
+        this.name = name;
+        this.dispatcher = dispatcher;
+        this.outputLimits = outputLimits;
+        this.selector = Selector.open();
+        this.pendingChannels = new ConcurrentLinkedQueue<>();
+        this.replies = new ConcurrentLinkedQueue<>();
+        this.idleConnections = new IdleTimerWheel<>(TICK_MILLIS, idleTimeoutMillis, System.currentTimeMillis());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void listen(ServerSocketChannel serverSocketChannel, Supplier<EventLoop> acceptTarget)
+            throws IOException {
+
+        this.acceptTarget = acceptTarget;
+
+        serverSocketChannel.configureBlocking(false);
+        serverSocketChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    public void register(SocketChannel channel) {
+        pendingChannels.add(channel);
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try (selector) {
+            while (true) {
+                selector.select(TICK_MILLIS);
+                registerPendingChannels();
+                runPostedReplies();
+
+                Set<SelectionKey> selectedKeys = selector.selectedKeys();
+                Iterator<SelectionKey> keyIterator = selectedKeys.iterator();
+
+                while (keyIterator.hasNext()) {
+                    SelectionKey key = keyIterator.next();
+                    keyIterator.remove();
+
+                    handleKey(key);
+                }
+
+                closeIdleConnections();
+            }
+        } catch (IOException e) {
+            Server.writeErrorToFile(StackTraceConverter.getStackTrace(e, UNDEFINED_PORT
+                    , String.format("{Event loop <%s> was terminated}", name)));
+
+            System.err.printf("-> {Event loop <%s> was terminated}\n", name);
+        }
+    }
+
+    private void handleKey(SelectionKey key) {
+        try {
+            if (key.isAcceptable()) {
+                acceptKey(key);
+                return;
+            }
+
+            if (key.isReadable()) {
+                readFromKey(key);
+            }
+            if (key.isValid() && key.isWritable()) {
+                writeToKey(key);
+            }
+        } catch (IOException | RuntimeException e) {
+            closeFailedKey(key, e);
+        }
+    }
+    private void closeFailedKey(SelectionKey key, Exception e) {
+        int port = (key.attachment() instanceof Connection connection) ? connection.getRemotePort() : UNDEFINED_PORT;
+
+        Server.writeErrorToFile(StackTraceConverter.getStackTrace(e, port
+                , String.format(UNHANDLED_COMMAND_MESSAGE, port)));
+
+        System.err.printf(UNHANDLED_COMMAND_MESSAGE + System.lineSeparator(), port);
+        closeKey(key);
+    }
+    private void acceptKey(SelectionKey key) throws IOException {
+        SocketChannel accept = ((ServerSocketChannel) key.channel()).accept();
+
+        if (accept != NO_CHANNEL) {
+            accept.configureBlocking(false);
+            acceptTarget.get().register(accept);
+        }
+    }
+    private void registerPendingChannels() throws IOException {
+        SocketChannel channel;
+
+        while ((channel = pendingChannels.poll()) != NO_CHANNEL) {
+            Connection connection = new Connection(channel);
+
+            channel.register(selector, SelectionKey.OP_READ, connection);
+            idleConnections.schedule(connection);
+        }
+    }
+    private void closeIdleConnections() {
+        for (Connection connection : idleConnections.advance(System.currentTimeMillis())) {
+            System.out.printf("-> {Client <%d> was disconnected after being idle}\n", connection.getRemotePort());
+
+            closeKey(connection.getChannel().keyFor(selector));
+        }
+    }
+    private void readFromKey(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+
+        if (connection.read() < MIN_BYTES_COUNT) {
+            closeKey(key);
+
+            return;
+        }
+
+        ByteBuffer frame;
+        while ((frame = connection.nextFrame()) != NO_FRAME) {
+            connection.addCommand(frame);
+        }
+        connection.finishReading();
+
+        dispatchNextCommand(key);
+
+        if (connection.isCommandBacklogFull()) {
+            connection.setReadingPausedByCommands(true);
+            updateReadInterest(key);
+        }
+    }
+    private void dispatchNextCommand(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+
+        if (connection.isExecuting() || connection.isReadingPaused()) {
+            return;
+        }
+
+        List<ByteBuffer> commands = connection.pollCommands();
+
+        if (!commands.isEmpty()) {
+            connection.setExecuting(true);
+
+            dispatcher.dispatch(connection.getRemotePort(), commands)
+                    .whenComplete((replies, failure) -> post(() -> acceptReplies(key, (failure == null) ? replies
+                            : dispatcher.failedReplies(connection.getRemotePort(), commands.size(), failure))));
+        }
+    }
+    private void acceptReplies(SelectionKey key, List<ChunkedReply> replies) {
+        Connection connection = (Connection) key.attachment();
+        connection.setExecuting(false);
+
+        if (!key.isValid()) {
+            return;
+        }
+
+        try {
+            replies.forEach(connection::enqueue);
+        } catch (RuntimeException e) {
+            closeFailedKey(key, e);
+            return;
+        }
+
+        key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+
+        if (outputLimits.isExceeded(connection.getQueuedOutputBytes())) {
+            System.out.printf("-> {Client <%d> was disconnected for not reading %d queued bytes}\n"
+                    , connection.getRemotePort(), connection.getQueuedOutputBytes());
+
+            outputLimits.countDisconnectedClient();
+            closeKey(key);
+            return;
+        }
+
+        if (outputLimits.shouldPause(connection.getQueuedOutputBytes())) {
+            pauseReading(key);
+        }
+
+        dispatchNextCommand(key);
+
+        if (connection.isReadingPausedByCommands() && !connection.isCommandBacklogFull()) {
+            connection.setReadingPausedByCommands(false);
+            updateReadInterest(key);
+        }
+    }
+    private void pauseReading(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+
+        if (!connection.isReadingPaused()) {
+            connection.setReadingPaused(true);
+            updateReadInterest(key);
+
+            outputLimits.countPausedRead();
+        }
+    }
+    private void resumeReading(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+
+        if (connection.isReadingPaused()) {
+            connection.setReadingPaused(false);
+            updateReadInterest(key);
+
+            dispatchNextCommand(key);
+        }
+    }
+    private void updateReadInterest(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        boolean paused = connection.isReadingPaused() || connection.isReadingPausedByCommands();
+
+        key.interestOps(paused ? key.interestOps() & ~SelectionKey.OP_READ : key.interestOps() | SelectionKey.OP_READ);
+    }
+    private void post(Runnable reply) {
+        replies.add(reply);
+        selector.wakeup();
+    }
+    private void runPostedReplies() {
+        Runnable reply;
+
+        while ((reply = replies.poll()) != null) {
+            reply.run();
+        }
+    }
+    private void writeToKey(SelectionKey key) throws IOException {
+        Connection connection = (Connection) key.attachment();
+
+        if (connection.flush()) {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        }
+
+        if (outputLimits.shouldResume(connection.getQueuedOutputBytes())) {
+            resumeReading(key);
+        }
+    }
+    private void closeKey(SelectionKey key) {
+        key.cancel();
+
+        try {
+            if (key.attachment() instanceof Connection connection) {
+                connection.close();
+                dispatcher.closeSession(connection.getRemotePort());
+            } else {
+                key.channel().close();
+            }
+        } catch (IOException e) {
+            System.err.printf("-> {Can't close channel of the client in event loop <%s>}\n", name);
+        }
+    }
+}
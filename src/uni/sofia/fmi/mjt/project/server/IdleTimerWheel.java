@@ -0,0 +1,86 @@
+package uni.sofia.fmi.mjt.project.server;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+public class IdleTimerWheel<T extends IdleTimerWheel.Entry> {
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private final long tickMillis;
+    private final long timeoutMillis;
+    private final List<Deque<Timeout<T>>> slots;
+    private long currentTick;
+
+    public IdleTimerWheel(long tickMillis, long timeoutMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.slots = new ArrayList<>(DEFAULT_WHEEL_SIZE);
+        this.currentTick = startMillis / tickMillis;
+
+        for (int i = 0; i < DEFAULT_WHEEL_SIZE; i++) {
+            slots.add(new ArrayDeque<>());
+        }
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public void schedule(T entry) {
+        long deadlineTick = Math.max(currentTick + 1, (entry.getLastActivity() + timeoutMillis) / tickMillis);
+
+        slots.get(slotOf(deadlineTick)).addLast(new Timeout<>(entry, deadlineTick));
+    }
+
+    /**
+     * Moves the wheel up to stated time. Entries are not moved on every activity: when their slot comes,
+     * entries that were active meanwhile are scheduled again and only really idle ones are returned
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long nowTick = nowMillis / tickMillis;
+
+        for (; currentTick <= nowTick; currentTick++) {
+            Iterator<Timeout<T>> slot = slots.get(slotOf(currentTick)).iterator();
+            List<T> toReschedule = new ArrayList<>();
+
+            while (slot.hasNext()) {
+                Timeout<T> timeout = slot.next();
+
+                if (timeout.deadlineTick() > currentTick) {
+                    continue;
+                }
+
+                slot.remove();
+
+                if (!timeout.entry().isOpen()) {
+                    continue;
+                }
+
+                if (timeout.entry().getLastActivity() + timeoutMillis <= nowMillis) {
+                    expired.add(timeout.entry());
+                } else {
+                    toReschedule.add(timeout.entry());
+                }
+            }
+
+            toReschedule.forEach(this::schedule);
+        }
+
+        return expired;
+    }
+
+    private int slotOf(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.size());
+    }
+
+    public interface Entry {
+        long getLastActivity();
+
+        boolean isOpen();
+    }
+
+    private record Timeout<T>(T entry, long deadlineTick) { }
+}
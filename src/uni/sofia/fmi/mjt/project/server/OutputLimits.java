@@ -0,0 +1,58 @@
+package uni.sofia.fmi.mjt.project.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OutputLimits {
+    private static final long DEFAULT_LOW_WATERMARK = 256L << 10;
+    private static final long DEFAULT_HIGH_WATERMARK = 1L << 20;
+    private static final long DEFAULT_HARD_LIMIT = 16L << 20;
+    private final long lowWatermark;
+    private final long highWatermark;
+    private final long hardLimit;
+    private final AtomicLong pausedReads;
+    private final AtomicLong disconnectedClients;
+
+    public OutputLimits() {
+        this(DEFAULT_LOW_WATERMARK, DEFAULT_HIGH_WATERMARK, DEFAULT_HARD_LIMIT);
+    }
+
+    public OutputLimits(long lowWatermark, long highWatermark, long hardLimit) {
+        if (lowWatermark < 0 || lowWatermark > highWatermark || highWatermark > hardLimit) {
+            throw new IllegalArgumentException(String.format(
+                    "{Output limits need to satisfy 0 <= low <= high <= hard. Got: %d, %d, %d}"
+                    , lowWatermark, highWatermark, hardLimit));
+        }
+
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.hardLimit = hardLimit;
+        this.pausedReads = new AtomicLong();
+        this.disconnectedClients = new AtomicLong();
+    }
+
+    public boolean shouldPause(long queuedBytes) {
+        return queuedBytes >= highWatermark;
+    }
+
+    public boolean shouldResume(long queuedBytes) {
+        return queuedBytes <= lowWatermark;
+    }
+
+    public boolean isExceeded(long queuedBytes) {
+        return queuedBytes > hardLimit;
+    }
+
+    public void countPausedRead() {
+        pausedReads.incrementAndGet();
+    }
+
+    public void countDisconnectedClient() {
+        disconnectedClients.incrementAndGet();
+    }
+
+    public Metrics metrics() {
+        return new Metrics(pausedReads.get(), disconnectedClients.get());
+    }
+
+    public record Metrics(long pausedReads, long disconnectedClients) { }
+}
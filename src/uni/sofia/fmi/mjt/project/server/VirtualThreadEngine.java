@@ -0,0 +1,164 @@
+package uni.sofia.fmi.mjt.project.server;
+
+import uni.sofia.fmi.mjt.project.buffers.BufferPool;
+import uni.sofia.fmi.mjt.project.exceptions.StackTraceConverter;
+import uni.sofia.fmi.mjt.project.protocol.ChunkedReply;
+import uni.sofia.fmi.mjt.project.protocol.FrameCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves every client in its own virtual thread with blocking reads and writes. Virtual threads are in Java 21, while
+ * the rest of the server builds on Java 17, so the executor is looked up when the engine is created: on older runtime
+ * engine "virtual" fails to start with a clear message instead of breaking the build. Idle sessions are closed by
+ * a sweeper thread, which stops when the engine stops
+ */
+public class VirtualThreadEngine {
+    private static final long TICK_MILLIS = TimeUnit.SECONDS.toMillis(1);
+    private static final String VIRTUAL_EXECUTOR_FACTORY = "newVirtualThreadPerTaskExecutor";
+    private static final ByteBuffer NO_FRAME = null;
+    private static final String UNHANDLED_COMMAND_MESSAGE = """
+            {Client <%s> -> Processing client's command had caused an error.
+            The process was interrupted or the client session is already terminated}""";
+    private final CommandDispatcher dispatcher;
+    private final IdleTimerWheel<ClientSession> idleSessions;
+    private final ExecutorService clients;
+
+    /**
+     * @throws UnsupportedOperationException when the runtime is older than Java 21 and has no virtual threads
+     */
+    public VirtualThreadEngine(CommandDispatcher dispatcher, long idleTimeoutMillis) {
+        this.dispatcher = dispatcher;
+        this.idleSessions = new IdleTimerWheel<>(TICK_MILLIS, idleTimeoutMillis, System.currentTimeMillis());
+        this.clients = newVirtualThreadExecutor();
+    }
+
+    public void serve(ServerSocketChannel serverSocketChannel) throws IOException {
+        serverSocketChannel.configureBlocking(true);
+
+        Thread sweeper = new Thread(this::closeIdleSessions, "idle-sweeper");
+        sweeper.setDaemon(true);
+        sweeper.start();
+
+        try {
+            while (serverSocketChannel.isOpen()) {
+                ClientSession session = new ClientSession(serverSocketChannel.accept());
+
+                synchronized (idleSessions) {
+                    idleSessions.schedule(session);
+                }
+
+                clients.submit(() -> serveClient(session));
+            }
+        } finally {
+            awaitClients();
+            sweeper.interrupt();
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod(VIRTUAL_EXECUTOR_FACTORY).invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException(String.format("{Engine <%s> needs Java 21 or newer, but runs" +
+                    " on Java <%s>}", EngineType.VIRTUAL_THREADS.getOptionName(), Runtime.version()), e);
+        }
+    }
+    private void awaitClients() {
+        clients.shutdown();
+
+        try {
+            clients.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            clients.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+    private void serveClient(ClientSession session) {
+        SocketChannel channel = session.channel;
+        int remotePort = channel.socket().getPort();
+        ByteBuffer header = ByteBuffer.allocate(FrameCodec.HEADER_SIZE);
+
+        try (channel) {
+            ByteBuffer frame;
+
+            while ((frame = FrameCodec.readFrame(channel, header)) != NO_FRAME) {
+                session.lastActivity = System.currentTimeMillis();
+
+                List<ChunkedReply> replies = dispatcher.dispatch(remotePort, List.of(frame))
+                        .handle((done, failure) -> (failure == null) ? done
+                                : dispatcher.failedReplies(remotePort, 1, failure))
+                        .join();
+
+                for (ChunkedReply reply : replies) {
+                    while (reply.hasNext()) {
+                        ByteBuffer chunk = reply.nextFrame();
+
+                        FrameCodec.writeFully(channel, chunk);
+                        BufferPool.shared().release(chunk);
+                    }
+                }
+            }
+        } catch (AsynchronousCloseException e) {
+            System.out.printf("-> {Client <%d> was disconnected after being idle}\n", remotePort);
+        } catch (IOException e) {
+            Server.writeErrorToFile(StackTraceConverter.getStackTrace(e, remotePort
+                    , String.format(UNHANDLED_COMMAND_MESSAGE, remotePort)));
+
+            System.err.printf(UNHANDLED_COMMAND_MESSAGE + System.lineSeparator(), remotePort);
+        } finally {
+            dispatcher.closeSession(remotePort);
+        }
+    }
+    private void closeIdleSessions() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Thread.sleep(TICK_MILLIS);
+
+                List<ClientSession> expired;
+                synchronized (idleSessions) {
+                    expired = idleSessions.advance(System.currentTimeMillis());
+                }
+
+                expired.forEach(this::closeSession);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    private void closeSession(ClientSession session) {
+        try {
+            session.channel.close();
+        } catch (IOException e) {
+            System.err.println("-> {Can't close idle client session}");
+        }
+    }
+
+    private static class ClientSession implements IdleTimerWheel.Entry {
+        private final SocketChannel channel;
+        private volatile long lastActivity;
+
+        ClientSession(SocketChannel channel) {
+            this.channel = channel;
+            this.lastActivity = System.currentTimeMillis();
+        }
+
+        @Override
+        public long getLastActivity() {
+            return lastActivity;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package uni.sofia.fmi.mjt.project.user;
+
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Map from epoch day to a bucket. Days are int keys of an open-addressing table with linear probing, so lookups
+ * neither box the key nor hash a LocalDate. Days with a bucket are also kept in a sorted array, so a range of days
+ * is found with a binary search and walked in date order. Removed entries are shifted back instead of leaving
+ * tombstones, so a day whose bucket is removed frees its slot
+ */
+public class CalendarMap<V> {
+    private static final int FREE = Task.NO_DATE;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+    private int[] keys = newKeys(INITIAL_CAPACITY);
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int[] sortedDays = new int[INITIAL_CAPACITY];
+    private int size;
+
+    public V get(int day) {
+        int slot = slotOf(day);
+
+        return (keys[slot] == FREE) ? null : valueAt(slot);
+    }
+
+    public V computeIfAbsent(int day, IntFunction<V> create) {
+        int slot = slotOf(day);
+
+        if (keys[slot] != FREE) {
+            return valueAt(slot);
+        }
+
+        V value = create.apply(day);
+        keys[slot] = day;
+        values[slot] = value;
+        insertSorted(day);
+
+        if (++size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+
+        return value;
+    }
+
+    public V remove(int day) {
+        int slot = slotOf(day);
+
+        if (keys[slot] == FREE) {
+            return null;
+        }
+
+        V removed = valueAt(slot);
+        shiftBack(slot);
+        removeSorted(day);
+        size--;
+
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return buckets of all days in date order
+     */
+    public List<V> values() {
+        return valuesOf(0, size);
+    }
+
+    /**
+     * @return buckets of the days between fromDay and toDay (both inclusive) in date order. List is a view,
+     * that must not be used after the map is changed
+     */
+    public List<V> valuesBetween(int fromDay, int toDay) {
+        int from = firstNotBefore(fromDay);
+        int to = (toDay == Integer.MAX_VALUE) ? size : firstNotBefore(toDay + 1);
+
+        return valuesOf(from, Math.max(from, to));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("{");
+
+        for (int i = 0; i < size; i++) {
+            result.append((i == 0) ? "" : ", ").append(LocalDate.ofEpochDay(sortedDays[i])).append('=')
+                    .append(get(sortedDays[i]));
+        }
+
+        return result.append('}').toString();
+    }
+
+    private static int[] newKeys(int capacity) {
+        int[] keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+
+        return keys;
+    }
+    private int home(int day) {
+        return (day * HASH_MULTIPLIER) >>> (Integer.SIZE - Integer.numberOfTrailingZeros(keys.length));
+    }
+    private int slotOf(int day) {
+        int mask = keys.length - 1;
+        int slot = home(day);
+
+        while (keys[slot] != FREE && keys[slot] != day) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+    @SuppressWarnings("unchecked")
+    private V valueAt(int slot) {
+        return (V) values[slot];
+    }
+    private void shiftBack(int free) {
+        int mask = keys.length - 1;
+
+        for (int slot = (free + 1) & mask; keys[slot] != FREE; slot = (slot + 1) & mask) {
+            int home = home(keys[slot]);
+
+            if (((slot - home) & mask) >= ((slot - free) & mask)) {
+                keys[free] = keys[slot];
+                values[free] = values[slot];
+                free = slot;
+            }
+        }
+
+        keys[free] = FREE;
+        values[free] = null;
+    }
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        keys = newKeys(capacity);
+        values = new Object[capacity];
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slotOf(oldKeys[i]);
+
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    private int firstNotBefore(int day) {
+        int index = Arrays.binarySearch(sortedDays, 0, size, day);
+
+        return (index >= 0) ? index : -index - 1;
+    }
+    private void insertSorted(int day) {
+        if (size == sortedDays.length) {
+            sortedDays = Arrays.copyOf(sortedDays, size * 2);
+        }
+
+        int index = firstNotBefore(day);
+        System.arraycopy(sortedDays, index, sortedDays, index + 1, size - index);
+        sortedDays[index] = day;
+    }
+    private void removeSorted(int day) {
+        int index = firstNotBefore(day);
+
+        System.arraycopy(sortedDays, index + 1, sortedDays, index, size - index - 1);
+    }
+    private List<V> valuesOf(int from, int to) {
+        return new AbstractList<>() {
+            @Override
+            public V get(int index) {
+                return CalendarMap.this.get(sortedDays[from + index]);
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        };
+    }
+}
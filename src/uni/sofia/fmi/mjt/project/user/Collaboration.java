@@ -1,120 +1,287 @@
-package uni.sofia.fmi.mjt.project.user;
-
-import uni.sofia.fmi.mjt.project.exceptions.AlreadyExistedException;
-
-import java.io.Serializable;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.Set;
-
-public class Collaboration implements Serializable, CollaborationAPI {
-    private String name;
-    private String ownerName;
-    private Map<String, Set<Task>> assigned;
-    private Set<String> members;
-    private Set<Task> shared;
-    private static final Object UNINITIALIZED = null;
-
-    public Collaboration(String name, String ownerName) {
-        this.name = name;
-        this.ownerName = ownerName;
-
-        if (members == UNINITIALIZED) {
-            members = new HashSet<>();
-            members.add(ownerName);
-        }
-        if (shared == UNINITIALIZED) {
-            shared = new HashSet<>();
-        }
-        if (assigned == UNINITIALIZED) {
-            assigned = new HashMap<>();
-        }
-    }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (o == null || getClass() != o.getClass()) {
-            return false;
-        }
-
-        Collaboration that = (Collaboration) o;
-
-        return Objects.equals(name, that.name);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(name);
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public String getOwnerName() {
-        return ownerName;
-    }
-
-    @Override
-    public boolean isMember(String userName) {
-        return members.contains(userName);
-    }
-
-    @Override
-    public void addMember(String userName) {
-        if (isMember(userName)) {
-            throw new AlreadyExistedException(String.format("{User with name <%s> is already" +
-                    " a member of Collaboration <%s>}", userName, name));
-        }
-
-        members.add(userName);
-    }
-
-    @Override
-    public boolean isShared(Task toCheck) {
-        return shared.contains(toCheck);
-    }
-
-    @Override
-    public void addTask(Optional<String> assignee, Task toAdd) {
-        if (assignee.isEmpty() && isShared(toAdd)) {
-            throw new AlreadyExistedException(String.format("{Task <%s> is already existed in this collaboration}"
-                    , toAdd));
-        }
-
-        if (assignee.isPresent() && isAssigned(assignee.get(), toAdd)) {
-            throw new AlreadyExistedException(String.format("{Task <%s> is already existed for this" +
-                    " member <%s> of collaboration}", toAdd, assignee.get()));
-        }
-
-        assignee.ifPresent((e) -> assigned.putIfAbsent(e, new HashSet<>()));
-        assignee.ifPresentOrElse((e) -> assigned.get(e).add(toAdd), () -> shared.add(toAdd));
-    }
-
-    @Override
-    public boolean isAssigned(String userName, Task toCheck) {
-        return assigned.containsKey(userName) && assigned.get(userName).contains(toCheck);
-    }
-
-    @Override
-    public String getMembers() {
-        return String.join("\n", members);
-    }
-
-    @Override
-    public String getTasks(String userName) {
-        String res = String.join("\n", shared.toString());
-
-        if (assigned.containsKey(userName)) {
-            return res + String.join("\n", assigned.get(userName).toString());
-        }
-
-        return res;
-    }
-}
+package uni.sofia.fmi.mjt.project.user;
+
+import uni.sofia.fmi.mjt.project.exceptions.AlreadyExistedException;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Members and assignees are kept as ids of their names in the shared NameDictionary: members as an IdSet and
+ * assigned tasks keyed by the id of the assignee, so membership is a search over ints and no name is stored twice.
+ * IdSet of members is immutable and replaced on change, so membership checks don't take the lock.
+ * Serialized form keeps the names of the owner, members and assignees and sets of tasks, so back ups written before
+ * stay readable. Loaded Collaboration gets its ids once it is restored to the CollaborationRegistry
+ */
+public class Collaboration implements Serializable, CollaborationAPI {
+    @Serial
+    private static final long serialVersionUID = -6121939611202384547L;
+    @Serial
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("name", String.class),
+            new ObjectStreamField("ownerName", String.class),
+            new ObjectStreamField("assigned", Map.class),
+            new ObjectStreamField("members", Set.class),
+            new ObjectStreamField("shared", Set.class)
+    };
+    private String name;
+    private int ownerId;
+    private Map<Integer, TaskStore> assigned;
+    private volatile IdSet members;
+    private TaskStore shared;
+    private NameDictionary names;
+    private transient String restoredOwner;
+    private transient Set<String> restoredMembers;
+    private transient Map<String, Set<Task>> restoredAssigned;
+    private static final Object UNINITIALIZED = null;
+
+    public Collaboration(String name, int ownerId, NameDictionary names) {
+        this.name = name;
+        this.ownerId = ownerId;
+        this.names = names;
+
+        if (members == UNINITIALIZED) {
+            members = IdSet.EMPTY.with(ownerId);
+        }
+        if (shared == UNINITIALIZED) {
+            shared = new TaskStore();
+        }
+        if (assigned == UNINITIALIZED) {
+            assigned = new HashMap<>();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        Collaboration that = (Collaboration) o;
+
+        return Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getOwnerName() {
+        return names.nameOf(ownerId);
+    }
+
+    @Override
+    public boolean isMember(String userName) {
+        return isMember(names.idOf(userName));
+    }
+
+    @Override
+    public boolean isMember(int userId) {
+        return userId != NameDictionary.NO_ID && members.contains(userId);
+    }
+
+    @Override
+    public boolean isOwner(int userId) {
+        return userId == ownerId;
+    }
+
+    @Override
+    public synchronized void addMember(String userName) {
+        if (isMember(userName)) {
+            throw new AlreadyExistedException(String.format("{User with name <%s> is already" +
+                    " a member of Collaboration <%s>}", userName, name));
+        }
+
+        members = members.with(names.intern(userName));
+    }
+
+    @Override
+    public synchronized boolean isShared(Task toCheck) {
+        return shared.find(toCheck.getDate().orElse(null), toCheck.getName()) != null;
+    }
+
+    @Override
+    public synchronized void addTask(Optional<String> assignee, Task toAdd) {
+        if (assignee.isEmpty() && isShared(toAdd)) {
+            throw new AlreadyExistedException(String.format("{Task <%s> is already existed in this collaboration}"
+                    , toAdd));
+        }
+
+        if (assignee.isPresent() && isAssigned(assignee.get(), toAdd)) {
+            throw new AlreadyExistedException(String.format("{Task <%s> is already existed for this" +
+                    " member <%s> of collaboration}", toAdd, assignee.get()));
+        }
+
+        assignee.ifPresentOrElse((e) -> assigned.computeIfAbsent(names.intern(e), k -> new TaskStore()).add(toAdd)
+                , () -> shared.add(toAdd));
+    }
+
+    @Override
+    public synchronized boolean isAssigned(String userName, Task toCheck) {
+        TaskStore own = assignedTo(userName);
+
+        return own != UNINITIALIZED && own.find(toCheck.getDate().orElse(null), toCheck.getName()) != null;
+    }
+
+    @Override
+    public List<String> getMembers() {
+        return names.namesOf(members);
+    }
+
+    IdSet getMemberIds() {
+        return members;
+    }
+
+    @Override
+    public synchronized List<Task> getTasks(String userName) {
+        List<Task> res = shared.getAll();
+
+        TaskStore own = assignedTo(userName);
+
+        if (own != UNINITIALIZED) {
+            res.addAll(own.getAll());
+        }
+
+        return res;
+    }
+
+    @Override
+    public synchronized List<Task> getTasks(String userName, LocalDate from, LocalDate to) {
+        List<Task> res = shared.getTasks(from, to);
+
+        TaskStore own = assignedTo(userName);
+
+        if (own != UNINITIALIZED) {
+            res.addAll(own.getTasks(from, to));
+            res.sort(Comparator.comparingInt(Task::getDateDay));
+        }
+
+        return res;
+    }
+
+    @Override
+    public synchronized List<Task> getOverdue(String userName, LocalDate today, Predicate<Task> accepted, int limit) {
+        List<Task> res = shared.getOverdue(today, accepted, limit);
+
+        TaskStore own = assignedTo(userName);
+
+        if (own != UNINITIALIZED) {
+            res.addAll(own.getOverdue(today, accepted, limit));
+        }
+
+        return res;
+    }
+
+    @Override
+    public synchronized List<Task> getDueBetween(String userName, LocalDate from, LocalDate to
+            , Predicate<Task> accepted, int limit) {
+        List<Task> res = shared.getDueBetween(from, to, accepted, limit);
+
+        TaskStore own = assignedTo(userName);
+
+        if (own != UNINITIALIZED) {
+            res.addAll(own.getDueBetween(from, to, accepted, limit));
+        }
+
+        return res;
+    }
+
+    @Override
+    public synchronized List<Task> searchTasks(String userName, List<String> terms) {
+        List<Task> res = shared.search(terms);
+
+        TaskStore own = assignedTo(userName);
+
+        if (own != UNINITIALIZED) {
+            res.addAll(own.search(terms));
+        }
+
+        return res;
+    }
+
+    /**
+     * Gives ids from the shared NameDictionary to the owner, members and assignees of a loaded Collaboration
+     *
+     * @param names dictionary of the CollaborationRegistry, that the Collaboration is restored to
+     */
+    void attach(NameDictionary names) {
+        this.names = names;
+        ownerId = names.intern(restoredOwner);
+        members = IdSet.EMPTY.with(ownerId);
+        assigned = new HashMap<>();
+
+        for (String member : restoredMembers) {
+            members = members.with(names.intern(member));
+        }
+
+        for (Map.Entry<String, Set<Task>> own : restoredAssigned.entrySet()) {
+            TaskStore store = new TaskStore();
+
+            own.getValue().forEach(store::add);
+            assigned.put(names.intern(own.getKey()), store);
+        }
+
+        restoredOwner = null;
+        restoredMembers = null;
+        restoredAssigned = null;
+    }
+
+    private TaskStore assignedTo(String userName) {
+        int userId = names.idOf(userName);
+
+        return (userId == NameDictionary.NO_ID) ? null : assigned.get(userId);
+    }
+
+    @Serial
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+
+        name = (String) fields.get("name", null);
+        restoredOwner = (String) fields.get("ownerName", null);
+        restoredMembers = (Set<String>) fields.get("members", Set.of());
+        restoredAssigned = (Map<String, Set<Task>>) fields.get("assigned", Map.of());
+        shared = new TaskStore();
+
+        ((Set<Task>) fields.get("shared", Set.of())).forEach(shared::add);
+    }
+
+    @Serial
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        Map<String, Set<Task>> assignedByName = new HashMap<>();
+
+        for (Map.Entry<Integer, TaskStore> own : assigned.entrySet()) {
+            assignedByName.put(names.nameOf(own.getKey()), new HashSet<>(own.getValue().getAll()));
+        }
+
+        ObjectOutputStream.PutField fields = out.putFields();
+
+        fields.put("name", name);
+        fields.put("ownerName", getOwnerName());
+        fields.put("assigned", assignedByName);
+        fields.put("members", new HashSet<>(getMembers()));
+        fields.put("shared", new HashSet<>(shared.getAll()));
+        out.writeFields();
+    }
+}
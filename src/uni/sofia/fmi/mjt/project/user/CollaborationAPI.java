@@ -1,63 +1,128 @@
-package uni.sofia.fmi.mjt.project.user;
-
-import java.util.Optional;
-
-public interface CollaborationAPI {
-
-    /**
-     * Checks whether stated userName is existed among members for this Collaboration
-     *
-     * @param userName name of User to find
-     * @return boolean result, whether existed or not
-     */
-    boolean isMember(String userName);
-
-    /**
-     * Add member to members of this Collaboration
-     *
-     * @param userName name of User to be added
-     */
-    void addMember(String userName);
-
-    /**
-     * Checks, whether stated Task instance belongs to SharedTasks - common for all members of this Collaboration
-     *
-     * @param toCheck Task instance to be find
-     * @return boolean result, whether is "shared" or "assigned" to concrete User
-     */
-    boolean isShared(Task toCheck);
-
-    /**
-     * Add task to this Collaboration that can be specified as "assigned",
-     * if Optional parameter assignee exists or as "shared", if not
-     *
-     * @param assignee name of User new task to be assigned to
-     * @param toAdd Task instance to be added to this Collaboration
-     */
-    void addTask(Optional<String> assignee, Task toAdd);
-
-    /**
-     * Checks whether stated Task instance is assigned to stated userName of some User
-     *
-     * @param userName name of User
-     * @param toCheck Task instance
-     * @return boolean result, whether Task is "assigned" or "shared"
-     */
-    boolean isAssigned(String userName, Task toCheck);
-
-    /**
-     * Get all Usernames of members of this Collaboration
-     *
-     * @return all names of members concatenated to one String
-     */
-    String getMembers();
-
-    /**
-     * Get all tasks of this Collaboration that are "shared"
-     * and add all "assigned" to this userName if exist
-     *
-     * @param userName name of user member
-     * @return all tasks, that can be accessed by stated User concatenated to one String
-     */
-    String getTasks(String userName);
-}
+package uni.sofia.fmi.mjt.project.user;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+public interface CollaborationAPI {
+
+    /**
+     * Checks whether stated userName is existed among members for this Collaboration
+     *
+     * @param userName name of User to find
+     * @return boolean result, whether existed or not
+     */
+    boolean isMember(String userName);
+
+    /**
+     * Checks whether User with stated id of his name in the NameDictionary is among members of this Collaboration
+     *
+     * @param userId id of the name of User to find
+     * @return boolean result, whether existed or not
+     */
+    boolean isMember(int userId);
+
+    /**
+     * Checks whether User with stated id of his name in the NameDictionary is the owner of this Collaboration
+     *
+     * @param userId id of the name of User
+     * @return boolean result, whether is the owner or not
+     */
+    boolean isOwner(int userId);
+
+    /**
+     * Add member to members of this Collaboration
+     *
+     * @param userName name of User to be added
+     */
+    void addMember(String userName);
+
+    /**
+     * Checks, whether stated Task instance belongs to SharedTasks - common for all members of this Collaboration
+     *
+     * @param toCheck Task instance to be find
+     * @return boolean result, whether is "shared" or "assigned" to concrete User
+     */
+    boolean isShared(Task toCheck);
+
+    /**
+     * Add task to this Collaboration that can be specified as "assigned",
+     * if Optional parameter assignee exists or as "shared", if not
+     *
+     * @param assignee name of User new task to be assigned to
+     * @param toAdd Task instance to be added to this Collaboration
+     */
+    void addTask(Optional<String> assignee, Task toAdd);
+
+    /**
+     * Checks whether stated Task instance is assigned to stated userName of some User
+     *
+     * @param userName name of User
+     * @param toCheck Task instance
+     * @return boolean result, whether Task is "assigned" or "shared"
+     */
+    boolean isAssigned(String userName, Task toCheck);
+
+    /**
+     * Get all Usernames of members of this Collaboration
+     *
+     * @return snapshot of the names of all members
+     */
+    List<String> getMembers();
+
+    /**
+     * Get all tasks of this Collaboration that are "shared"
+     * and add all "assigned" to this userName if exist
+     *
+     * @param userName name of user member
+     * @return snapshot of all tasks, that can be accessed by stated User
+     */
+    List<Task> getTasks(String userName);
+
+    /**
+     * Get tasks of this Collaboration, that can be accessed by stated User and
+     * are scheduled for a date between from and to (both inclusive). Tasks without date aren't included
+     *
+     * @param userName name of user member
+     * @param from first date of the range
+     * @param to last date of the range
+     * @return snapshot of the tasks in the range, ordered by date
+     */
+    List<Task> getTasks(String userName, LocalDate from, LocalDate to);
+
+    /**
+     * Get not completed tasks accessible by stated User, whose due-date is already before today.
+     * Tasks are read from the most overdue ones and reading stops between two due-dates
+     * after at least limit accepted tasks were read from every store
+     *
+     * @param userName name of user member
+     * @param today date from which tasks are considered as overdue
+     * @param accepted filter of tasks to be read, e.g. tasks after the cursor of the page
+     * @param limit minimum count of accepted tasks to be read from every store, when there are so many
+     * @return accepted overdue tasks, not sorted
+     */
+    List<Task> getOverdue(String userName, LocalDate today, Predicate<Task> accepted, int limit);
+
+    /**
+     * Get not completed tasks accessible by stated User, whose due-date is between from and to (both inclusive).
+     * Reading stops the same way as in getOverdue
+     *
+     * @param userName name of user member
+     * @param from first due-date of the range
+     * @param to last due-date of the range
+     * @param accepted filter of tasks to be read, e.g. tasks after the cursor of the page
+     * @param limit minimum count of accepted tasks to be read from every store, when there are so many
+     * @return accepted tasks due in the range, not sorted
+     */
+    List<Task> getDueBetween(String userName, LocalDate from, LocalDate to, Predicate<Task> accepted, int limit);
+
+    /**
+     * Finds tasks accessible by stated User whose name or description contains every stated word
+     *
+     * @param userName name of user member
+     * @param terms lower-case words produced by TaskIndex.tokenize
+     * @return snapshot of matching "shared" and "assigned" to this User tasks
+     */
+    List<Task> searchTasks(String userName, List<String> terms);
+}
@@ -0,0 +1,100 @@
+package uni.sofia.fmi.mjt.project.user;
+
+import uni.sofia.fmi.mjt.project.exceptions.NotFoundException;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collaborations keyed by their name together with reverse index: id of the name of a member -> IdSet of ids of
+ * the names of Collaborations he participates in (ids are from the NameDictionary shared with UserRegistry).
+ * Both sides are changed under the registry lock, so they always describe the same memberships. IdSets of
+ * the index are immutable and replaced on change, so lookups don't take any lock
+ */
+public class CollaborationRegistry {
+    private final Map<String, Collaboration> byName = new ConcurrentHashMap<>();
+    private final Map<Integer, IdSet> byMember = new ConcurrentHashMap<>();
+    private final NameDictionary names;
+
+    public CollaborationRegistry(NameDictionary names) {
+        this.names = names;
+    }
+
+    public synchronized boolean create(String name, String ownerName) {
+        if (byName.containsKey(name)) {
+            return false;
+        }
+
+        int ownerId = names.intern(ownerName);
+
+        byName.put(name, new Collaboration(name, ownerId, names));
+        link(ownerId, names.intern(name));
+        return true;
+    }
+
+    public Collaboration find(String name) {
+        return byName.get(name);
+    }
+
+    public synchronized void restore(Collaboration collaboration) {
+        collaboration.attach(names);
+        byName.put(collaboration.getName(), collaboration);
+
+        IdSet members = collaboration.getMemberIds();
+        int collaborationId = names.intern(collaboration.getName());
+
+        for (int i = 0; i < members.size(); i++) {
+            link(members.get(i), collaborationId);
+        }
+    }
+
+    public Collection<Collaboration> getAll() {
+        return Collections.unmodifiableCollection(byName.values());
+    }
+
+    public synchronized void addMember(Collaboration collaboration, String userName) {
+        if (byName.get(collaboration.getName()) != collaboration) {
+            throw new NotFoundException(String.format("{Can't find collaboration <%s> }", collaboration.getName()));
+        }
+
+        collaboration.addMember(userName);
+        link(names.intern(userName), names.intern(collaboration.getName()));
+    }
+
+    public synchronized boolean delete(Collaboration collaboration) {
+        if (!byName.remove(collaboration.getName(), collaboration)) {
+            return false;
+        }
+
+        IdSet members = collaboration.getMemberIds();
+        int collaborationId = names.idOf(collaboration.getName());
+
+        for (int i = 0; i < members.size(); i++) {
+            unlink(members.get(i), collaborationId);
+        }
+
+        return true;
+    }
+
+    public List<String> getCollaborationNames(String userName) {
+        IdSet collaborationIds = byMember.get(names.idOf(userName));
+
+        return (collaborationIds == null) ? List.of() : names.namesOf(collaborationIds);
+    }
+
+    private void link(int userId, int collaborationId) {
+        byMember.put(userId, byMember.getOrDefault(userId, IdSet.EMPTY).with(collaborationId));
+    }
+    private void unlink(int userId, int collaborationId) {
+        IdSet linked = byMember.getOrDefault(userId, IdSet.EMPTY).without(collaborationId);
+
+        if (linked.isEmpty()) {
+            byMember.remove(userId);
+        } else {
+            byMember.put(userId, linked);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package uni.sofia.fmi.mjt.project.user;
+
+import java.util.Arrays;
+
+/**
+ * Immutable set of name ids from the NameDictionary kept as a sorted int array: 4 bytes per id, no matter how big
+ * the ids are, and contains is a binary search. Adding or removing an id returns a new set, so a set can be read by
+ * many threads while the owner replaces it with the changed one
+ */
+public final class IdSet {
+    public static final IdSet EMPTY = new IdSet(new int[0]);
+    private final int[] ids;
+
+    private IdSet(int[] ids) {
+        this.ids = ids;
+    }
+
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    public IdSet with(int id) {
+        int index = Arrays.binarySearch(ids, id);
+
+        if (index >= 0) {
+            return this;
+        }
+
+        int at = -index - 1;
+        int[] changed = new int[ids.length + 1];
+        System.arraycopy(ids, 0, changed, 0, at);
+        changed[at] = id;
+        System.arraycopy(ids, at, changed, at + 1, ids.length - at);
+
+        return new IdSet(changed);
+    }
+
+    public IdSet without(int id) {
+        int index = Arrays.binarySearch(ids, id);
+
+        if (index < 0) {
+            return this;
+        }
+
+        int[] changed = new int[ids.length - 1];
+        System.arraycopy(ids, 0, changed, 0, index);
+        System.arraycopy(ids, index + 1, changed, index, ids.length - index - 1);
+
+        return new IdSet(changed);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    public int get(int index) {
+        return ids[index];
+    }
+}
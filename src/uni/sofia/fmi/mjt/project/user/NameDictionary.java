@@ -0,0 +1,58 @@
+package uni.sofia.fmi.mjt.project.user;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interned names of Users and Collaborations. Every name gets a dense int id the first time it is interned and
+ * keeps it forever, so memberships are stored as IdSets of ids and checked by a search over ints instead of
+ * hashing and comparing Strings. Every name is stored once, here. Ids are lookups without lock, only interning of
+ * a new name takes the lock of the dictionary
+ */
+public class NameDictionary {
+    public static final int NO_ID = -1;
+    private static final int INITIAL_CAPACITY = 64;
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[INITIAL_CAPACITY];
+    private int size;
+
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+
+        return (id == null) ? NO_ID : id;
+    }
+
+    public synchronized int intern(String name) {
+        Integer id = ids.get(name);
+
+        if (id != null) {
+            return id;
+        }
+
+        if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+        }
+
+        names[size] = name;
+        ids.put(name, size);
+
+        return size++;
+    }
+
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    public List<String> namesOf(IdSet idSet) {
+        List<String> result = new ArrayList<>(idSet.size());
+
+        for (int i = 0; i < idSet.size(); i++) {
+            result.add(nameOf(idSet.get(i)));
+        }
+
+        return result;
+    }
+}
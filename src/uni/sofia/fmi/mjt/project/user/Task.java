@@ -1,116 +1,175 @@
-package uni.sofia.fmi.mjt.project.user;
-
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serial;
-import java.io.Serializable;
-import java.time.LocalDate;
-import java.util.Objects;
-import java.util.Optional;
-
-public class Task implements Serializable {
-    private String name;
-    private Optional<LocalDate> date;
-    private Optional<LocalDate> dueDate;
-    private Optional<String> description;
-
-    public Task(String name, LocalDate date, LocalDate dueDate, String description) {
-        this.name = name;
-
-        this.date = Optional.ofNullable(date);
-        this.dueDate = Optional.ofNullable(dueDate);
-        this.description = Optional.ofNullable(description);
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public Optional<LocalDate> getDate() {
-        return date;
-    }
-
-    public Optional<LocalDate> getDueDate() {
-        return dueDate;
-    }
-
-    public Optional<String> getDescription() {
-        return description;
-    }
-
-    @Override
-    public String toString() {
-        return "Task{" +
-                "name='" + name + '\'' +
-                ", date=" + (date.isEmpty() ? " " : date.toString()) +
-                ", dueDate=" + (dueDate.isEmpty() ? " " : dueDate.toString()) +
-                ", description=" + (description.orElse(" ")) +
-                '}';
-    }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (o == null || getClass() != o.getClass()) {
-            return false;
-        }
-
-        Task task = (Task) o;
-
-        return name.equals(task.name) && Objects.equals(date, task.date);
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(name, date);
-    }
-
-    @Serial
-    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
-        name = in.readUTF();
-
-        boolean datePresent = in.readBoolean();
-        date = (datePresent) ? Optional.of(LocalDate.parse(in.readUTF())) : Optional.empty();
-
-        boolean dueDatePresent = in.readBoolean();
-        dueDate = (dueDatePresent) ? Optional.of(LocalDate.parse(in.readUTF())) : Optional.empty();
-
-        boolean descriptionPresent = in.readBoolean();
-        description = (descriptionPresent) ? Optional.of(in.readUTF()) : Optional.empty();
-    }
-
-    @Serial
-    private void writeObject(ObjectOutputStream out) throws IOException {
-        out.writeUTF(name);
-
-        out.writeBoolean(date.isPresent());
-        date.ifPresent(str -> {
-            try {
-                out.writeUTF(str.toString());
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        });
-
-        out.writeBoolean(dueDate.isPresent());
-        dueDate.ifPresent(str -> {
-            try {
-                out.writeUTF(str.toString());
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        });
-
-        out.writeBoolean(description.isPresent());
-        description.ifPresent(str -> {
-            try {
-                out.writeUTF(str);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        });
-    }
-}
+package uni.sofia.fmi.mjt.project.user;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Task keeps its dates as int epoch days (NO_DATE when the date isn't stated) and its description as
+ * a nullable String, so one task is a single object besides its Strings. Optional getters are created on demand,
+ * while primitive getters are used on hot paths (sort keys, reply encoding, indexes).
+ * Serialized form is the one of the Optional fields, so back ups written before stay readable. Completion isn't part
+ * of it, the owner keeps its completed tasks as a separate set in the back up
+ */
+public class Task implements Serializable {
+    public static final int NO_DATE = Integer.MIN_VALUE;
+    @Serial
+    private static final long serialVersionUID = -6502003638768573219L;
+    @Serial
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("name", String.class),
+            new ObjectStreamField("date", Optional.class),
+            new ObjectStreamField("dueDate", Optional.class),
+            new ObjectStreamField("description", Optional.class)
+    };
+    private static final String NO_DESCRIPTION = null;
+    private String name;
+    private int date;
+    private int dueDate;
+    private String description;
+    private boolean completed;
+
+    public Task(String name, LocalDate date, LocalDate dueDate, String description) {
+        this.name = name;
+
+        this.date = toEpochDay(date);
+        this.dueDate = toEpochDay(dueDate);
+        this.description = description;
+    }
+
+    public static boolean isStorable(LocalDate date) {
+        return date.toEpochDay() > NO_DATE && date.toEpochDay() <= Integer.MAX_VALUE;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Optional<LocalDate> getDate() {
+        return toLocalDate(date);
+    }
+
+    public Optional<LocalDate> getDueDate() {
+        return toLocalDate(dueDate);
+    }
+
+    public Optional<String> getDescription() {
+        return Optional.ofNullable(description);
+    }
+
+    public boolean hasDate() {
+        return date != NO_DATE;
+    }
+
+    public boolean hasDueDate() {
+        return dueDate != NO_DATE;
+    }
+
+    public boolean hasDescription() {
+        return description != NO_DESCRIPTION;
+    }
+
+    /**
+     * @return epoch day of the date or NO_DATE
+     */
+    public int getDateDay() {
+        return date;
+    }
+
+    /**
+     * @return epoch day of the due-date or NO_DATE
+     */
+    public int getDueDateDay() {
+        return dueDate;
+    }
+
+    /**
+     * @return description or null when it isn't stated
+     */
+    public String getDescriptionOrNull() {
+        return description;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    @Override
+    public String toString() {
+        return "Task{" +
+                "name='" + name + '\'' +
+                ", date=" + (hasDate() ? getDate().toString() : " ") +
+                ", dueDate=" + (hasDueDate() ? getDueDate().toString() : " ") +
+                ", description=" + (hasDescription() ? description : " ") +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        Task task = (Task) o;
+
+        return name.equals(task.name) && date == task.date;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + Integer.hashCode(date);
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return (date == null) ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+    private static Optional<LocalDate> toLocalDate(int epochDay) {
+        return (epochDay == NO_DATE) ? Optional.empty() : Optional.of(LocalDate.ofEpochDay(epochDay));
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        name = in.readUTF();
+
+        boolean datePresent = in.readBoolean();
+        date = (datePresent) ? toEpochDay(LocalDate.parse(in.readUTF())) : NO_DATE;
+
+        boolean dueDatePresent = in.readBoolean();
+        dueDate = (dueDatePresent) ? toEpochDay(LocalDate.parse(in.readUTF())) : NO_DATE;
+
+        boolean descriptionPresent = in.readBoolean();
+        description = (descriptionPresent) ? in.readUTF() : NO_DESCRIPTION;
+    }
+
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.writeUTF(name);
+
+        out.writeBoolean(hasDate());
+        if (hasDate()) {
+            out.writeUTF(LocalDate.ofEpochDay(date).toString());
+        }
+
+        out.writeBoolean(hasDueDate());
+        if (hasDueDate()) {
+            out.writeUTF(LocalDate.ofEpochDay(dueDate).toString());
+        }
+
+        out.writeBoolean(hasDescription());
+        if (hasDescription()) {
+            out.writeUTF(description);
+        }
+    }
+}
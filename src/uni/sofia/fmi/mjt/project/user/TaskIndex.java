@@ -0,0 +1,101 @@
+package uni.sofia.fmi.mjt.project.user;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index over words of task names and descriptions. Every word (letters and digits, case-insensitive)
+ * points to the posting set of tasks that contain it. Query with several words returns tasks containing all of
+ * them: the smallest posting set is walked and every task is checked in the others
+ */
+public class TaskIndex {
+    private final Map<String, Set<Task>> postings = new HashMap<>();
+
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+
+        Set<String> tokens = new LinkedHashSet<>();
+
+        int start = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            if (i == text.length() || !Character.isLetterOrDigit(text.charAt(i))) {
+                if (i > start) {
+                    tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                }
+
+                start = i + 1;
+            }
+        }
+
+        return List.copyOf(tokens);
+    }
+
+    public void add(Task task) {
+        for (String token : tokensOf(task)) {
+            postings.computeIfAbsent(token, k -> new HashSet<>()).add(task);
+        }
+    }
+
+    public void remove(Task task) {
+        for (String token : tokensOf(task)) {
+            postings.computeIfPresent(token, (k, tasks) -> {
+                tasks.remove(task);
+                return tasks.isEmpty() ? null : tasks;
+            });
+        }
+    }
+
+    public List<Task> search(List<String> terms) {
+        List<Set<Task>> lists = new ArrayList<>(terms.size());
+
+        for (String term : terms) {
+            Set<Task> tasks = postings.get(term);
+
+            if (tasks == null) {
+                return new ArrayList<>();
+            }
+
+            lists.add(tasks);
+        }
+
+        if (lists.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lists.sort(Comparator.comparingInt(Set::size));
+        List<Task> result = new ArrayList<>();
+
+        for (Task candidate : lists.get(0)) {
+            if (containedInAll(candidate, lists)) {
+                result.add(candidate);
+            }
+        }
+
+        return result;
+    }
+
+    private boolean containedInAll(Task candidate, List<Set<Task>> lists) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(candidate)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+    private Set<String> tokensOf(Task task) {
+        Set<String> tokens = new HashSet<>(tokenize(task.getName()));
+        tokens.addAll(tokenize(task.getDescriptionOrNull()));
+
+        return tokens;
+    }
+}
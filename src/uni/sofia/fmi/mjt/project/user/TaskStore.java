@@ -0,0 +1,197 @@
+package uni.sofia.fmi.mjt.project.user;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Tasks of one owner keyed by (date or inbox, name). Every task is found, added, replaced or removed with
+ * a single hash lookup in its bucket, so no operation depends on the count of stored tasks. Tasks without
+ * date are kept in the inbox bucket. Buckets that become empty are dropped. Dated buckets are kept in a CalendarMap
+ * keyed by epoch day, so a date is found without hashing a LocalDate and a range of dates visits only the buckets
+ * inside it.
+ * Not completed tasks with due-date are also indexed by it. Index is updated together with every add, replace,
+ * remove and completion, so overdue and upcoming tasks are read from the front of it. Reading stops only between
+ * two due-dates, so a page cut by due-date order never misses a task with the same due-date as the last read one.
+ * Words of names and descriptions are kept in a TaskIndex.
+ * Completion is a flag of the Task itself, so completed tasks are found by walking the buckets
+ */
+public class TaskStore {
+    public static final int TOP_DUE_TASKS = 20;
+    private static final Map<String, Task> NO_BUCKET = null;
+    private final Map<String, Task> inbox = new HashMap<>();
+    private final CalendarMap<Map<String, Task>> timed = new CalendarMap<>();
+    private final CalendarMap<Set<Task>> byDueDate = new CalendarMap<>();
+    private final TaskIndex words = new TaskIndex();
+
+    public Task find(LocalDate date, String name) {
+        Map<String, Task> bucket = bucketOf(date);
+
+        return (bucket == NO_BUCKET) ? null : bucket.get(name);
+    }
+
+    public boolean hasTasks(LocalDate date) {
+        return bucketOf(date) != NO_BUCKET;
+    }
+
+    public boolean add(Task toAdd) {
+        if (bucketFor(toAdd).putIfAbsent(toAdd.getName(), toAdd) != null) {
+            return false;
+        }
+
+        indexDueDate(toAdd);
+        words.add(toAdd);
+        return true;
+    }
+
+    public boolean remove(Task toRemove) {
+        Map<String, Task> bucket = toRemove.hasDate() ? timed.get(toRemove.getDateDay()) : inbox;
+        Task removed = (bucket == NO_BUCKET) ? null : bucket.remove(toRemove.getName());
+
+        if (removed == null) {
+            return false;
+        }
+
+        if (bucket.isEmpty() && toRemove.hasDate()) {
+            timed.remove(toRemove.getDateDay());
+        }
+
+        unindexDueDate(removed);
+        words.remove(removed);
+        return true;
+    }
+
+    public void replace(Task current, Task updated) {
+        boolean wasCompleted = current.isCompleted();
+
+        remove(current);
+        add(updated);
+
+        if (wasCompleted) {
+            complete(updated);
+        }
+    }
+
+    public boolean complete(Task toComplete) {
+        if (toComplete.isCompleted()) {
+            return false;
+        }
+
+        toComplete.setCompleted(true);
+        unindexDueDate(toComplete);
+        return true;
+    }
+
+    public List<Task> getCompleted() {
+        List<Task> result = new ArrayList<>();
+
+        for (Task task : inbox.values()) {
+            if (task.isCompleted()) {
+                result.add(task);
+            }
+        }
+
+        for (Map<String, Task> bucket : timed.values()) {
+            for (Task task : bucket.values()) {
+                if (task.isCompleted()) {
+                    result.add(task);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    public Collection<Task> getInbox() {
+        return Collections.unmodifiableCollection(inbox.values());
+    }
+
+    public Collection<Task> getTasks(LocalDate date) {
+        Map<String, Task> bucket = timed.get(dayOf(date));
+
+        return (bucket == NO_BUCKET) ? List.of() : Collections.unmodifiableCollection(bucket.values());
+    }
+
+    public List<Task> getTasks(LocalDate from, LocalDate to) {
+        List<Task> result = new ArrayList<>();
+
+        for (Map<String, Task> bucket : timed.valuesBetween(dayOf(from), dayOf(to))) {
+            result.addAll(bucket.values());
+        }
+
+        return result;
+    }
+
+    public List<Task> getAll() {
+        List<Task> result = new ArrayList<>(inbox.values());
+
+        for (Map<String, Task> bucket : timed.values()) {
+            result.addAll(bucket.values());
+        }
+
+        return result;
+    }
+
+    public List<Task> getOverdue(LocalDate today, Predicate<Task> accepted, int limit) {
+        return firstDue(byDueDate.valuesBetween(Task.NO_DATE + 1, dayOf(today) - 1), accepted, limit);
+    }
+
+    public List<Task> getDueBetween(LocalDate from, LocalDate to, Predicate<Task> accepted, int limit) {
+        return firstDue(byDueDate.valuesBetween(dayOf(from), dayOf(to)), accepted, limit);
+    }
+
+    public List<Task> search(List<String> terms) {
+        return words.search(terms);
+    }
+
+    @Override
+    public String toString() {
+        return "inbox=" + inbox.values() + ", timed=" + timed;
+    }
+
+    private static int dayOf(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+    private Map<String, Task> bucketOf(LocalDate date) {
+        return (date == null) ? inbox : timed.get(dayOf(date));
+    }
+    private Map<String, Task> bucketFor(Task task) {
+        return !task.hasDate() ? inbox : timed.computeIfAbsent(task.getDateDay(), k -> new HashMap<>());
+    }
+    private void indexDueDate(Task task) {
+        if (task.hasDueDate()) {
+            byDueDate.computeIfAbsent(task.getDueDateDay(), k -> new HashSet<>()).add(task);
+        }
+    }
+    private void unindexDueDate(Task task) {
+        Set<Task> tasks = task.hasDueDate() ? byDueDate.get(task.getDueDateDay()) : null;
+
+        if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+            byDueDate.remove(task.getDueDateDay());
+        }
+    }
+    private List<Task> firstDue(List<Set<Task>> range, Predicate<Task> accepted, int limit) {
+        List<Task> result = new ArrayList<>();
+
+        for (Set<Task> tasks : range) {
+            if (result.size() >= limit) {
+                return result;
+            }
+
+            for (Task task : tasks) {
+                if (accepted.test(task)) {
+                    result.add(task);
+                }
+            }
+        }
+
+        return result;
+    }
+}
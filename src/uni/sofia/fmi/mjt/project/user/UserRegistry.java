@@ -0,0 +1,42 @@
+package uni.sofia.fmi.mjt.project.user;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registered Users keyed by their name. Lookups for login, add-user etc. are a single hash lookup
+ * and never need to build probe User instances. Every registered User gets the id of its name
+ * in the NameDictionary. Safe to be used from different command shards
+ */
+public class UserRegistry {
+    private final Map<String, User> byName = new ConcurrentHashMap<>();
+    private final NameDictionary names;
+
+    public UserRegistry(NameDictionary names) {
+        this.names = names;
+    }
+
+    public boolean register(User user) {
+        user.setId(names.intern(user.getName()));
+
+        return byName.putIfAbsent(user.getName(), user) == null;
+    }
+
+    public User find(String name) {
+        return byName.get(name);
+    }
+
+    public boolean contains(String name) {
+        return byName.containsKey(name);
+    }
+
+    public int size() {
+        return byName.size();
+    }
+
+    public Collection<User> getAll() {
+        return Collections.unmodifiableCollection(byName.values());
+    }
+}
@@ -0,0 +1,168 @@
+package uni.sofia.fmi.mjt.project.validators;
+
+import uni.sofia.fmi.mjt.project.commands.Arguments;
+import uni.sofia.fmi.mjt.project.commands.Command;
+import uni.sofia.fmi.mjt.project.exceptions.InvalidParametersException;
+import uni.sofia.fmi.mjt.project.user.Task;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Parameters of one command: their names, types and whether they are required, plus cross-field rules.
+ * Validation parses every value stated as text exactly once and returns them as typed Arguments. Values, that
+ * are already decoded by the binary protocol, are only checked
+ */
+public class CommandSchema {
+    private static final String DATE_FORMAT_MESSAGE = "{Date need to follow exactly the same format as: YYYY-MM-DD" +
+            "-> 2023-10-05}";
+    private static final String NUMBER_FORMAT_MESSAGE = "{Parameter <%s> need to be a non-negative whole number}";
+    private final List<String> keys;
+    private final ParameterType[] types;
+    private final boolean[] required;
+    private final List<Consumer<Arguments>> rules;
+    private final String template;
+
+    private CommandSchema(Builder builder) {
+        this.keys = List.copyOf(builder.keys);
+        this.types = builder.types.toArray(ParameterType[]::new);
+        this.required = new boolean[keys.size()];
+        this.rules = List.copyOf(builder.rules);
+
+        StringBuilder templateBuilder = new StringBuilder();
+        for (int i = 0; i < keys.size(); i++) {
+            required[i] = builder.required.get(i);
+            templateBuilder.append(i == 0 ? "" : " ").append(required[i] ? "#" : "(opt)#")
+                    .append(keys.get(i)).append(types[i].getPlaceholder());
+        }
+        this.template = templateBuilder.toString();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    public Arguments validate(Command command) {
+        Object[] values = new Object[keys.size()];
+        int stated = 0;
+
+        for (int i = 0; i < keys.size(); i++) {
+            Object raw = command.args().get(keys.get(i));
+
+            if (raw == null) {
+                if (required[i]) {
+                    throw new InvalidParametersException(String.format("{There is no stated parameter \"%s\" " +
+                            "for this command, that is compulsory and can't be skipped. Template: <%s %s>}"
+                            , keys.get(i), command.name(), template));
+                }
+
+                continue;
+            }
+
+            values[i] = parse(keys.get(i), types[i], raw);
+            stated++;
+        }
+
+        if (stated != command.args().size()) {
+            throw new InvalidParametersException(keys.isEmpty()
+                    ? String.format("{Command <%s> can't have any parameters}", command.name())
+                    : String.format("{Parameters <%s> aren't allowed. Command need to follow template: <%s %s>}"
+                    , unknownKeys(command), command.name(), template));
+        }
+
+        Arguments arguments = new Arguments(command, keys, values);
+        rules.forEach(rule -> rule.accept(arguments));
+
+        return arguments;
+    }
+
+    private Object parse(String key, ParameterType type, Object raw) {
+        return switch (type) {
+            case STRING -> {
+                if (!(raw instanceof String text) || !StringValidator.isValid(text)) {
+                    throw new InvalidParametersException(String.format(StringValidator.INVALID_STRING_MESSAGE, key));
+                }
+
+                yield text;
+            }
+            case DATE -> {
+                LocalDate date = (raw instanceof LocalDate decoded) ? decoded : parseDate(raw);
+
+                if (!Task.isStorable(date)) {
+                    throw new InvalidParametersException(DATE_FORMAT_MESSAGE);
+                }
+
+                yield date;
+            }
+            case NUMBER -> {
+                int number = (raw instanceof Integer decoded) ? decoded : parseNumber(key, raw);
+
+                if (number < 0) {
+                    throw new InvalidParametersException(String.format(NUMBER_FORMAT_MESSAGE, key));
+                }
+
+                yield number;
+            }
+            case FLAG -> Boolean.TRUE;
+        };
+    }
+    private static LocalDate parseDate(Object raw) {
+        try {
+            return DateCache.parse((String) raw);
+        } catch (DateTimeParseException | ClassCastException e) {
+            throw new InvalidParametersException(DATE_FORMAT_MESSAGE);
+        }
+    }
+    private static int parseNumber(String key, Object raw) {
+        try {
+            return Integer.parseInt((String) raw);
+        } catch (NumberFormatException | ClassCastException e) {
+            throw new InvalidParametersException(String.format(NUMBER_FORMAT_MESSAGE, key));
+        }
+    }
+    private List<String> unknownKeys(Command command) {
+        List<String> unknown = new ArrayList<>(command.args().keySet());
+        unknown.removeAll(keys);
+
+        return unknown;
+    }
+
+    public static class Builder {
+        private final List<String> keys = new ArrayList<>();
+        private final List<ParameterType> types = new ArrayList<>();
+        private final List<Boolean> required = new ArrayList<>();
+        private final List<Consumer<Arguments>> rules = new ArrayList<>();
+
+        public Builder required(String key, ParameterType type) {
+            return parameter(key, type, true);
+        }
+
+        public Builder optional(String key, ParameterType type) {
+            return parameter(key, type, false);
+        }
+
+        public Builder rule(Consumer<Arguments> rule) {
+            rules.add(rule);
+            return this;
+        }
+
+        public CommandSchema build() {
+            return new CommandSchema(this);
+        }
+
+        private Builder parameter(String key, ParameterType type, boolean isRequired) {
+            keys.add(key);
+            types.add(type);
+            required.add(isRequired);
+
+            return this;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package uni.sofia.fmi.mjt.project.validators;
+
+import java.time.LocalDate;
+
+/**
+ * Small direct-mapped cache of parsed dates. Clients state the same few dates (today, tomorrow, the end of
+ * the week...) again and again, so a date that was already parsed is taken from its slot instead of being parsed
+ * into a new LocalDate. Slot is replaced when another date with the same hash comes. Entries are immutable, so
+ * threads share the cache without locking
+ */
+public abstract class DateCache {
+    private static final int SLOTS = 256;
+    private static final Entry[] ENTRIES = new Entry[SLOTS];
+    private static final Entry NO_ENTRY = null;
+
+    private record Entry(String raw, LocalDate date) {
+    }
+
+    /**
+     * @throws java.time.format.DateTimeParseException when raw isn't a date in the format YYYY-MM-DD
+     */
+    public static LocalDate parse(String raw) {
+        int slot = raw.hashCode() & (SLOTS - 1);
+        Entry entry = ENTRIES[slot];
+
+        if (entry != NO_ENTRY && entry.raw().equals(raw)) {
+            return entry.date();
+        }
+
+        LocalDate date = LocalDate.parse(raw);
+        ENTRIES[slot] = new Entry(raw, date);
+
+        return date;
+    }
+}
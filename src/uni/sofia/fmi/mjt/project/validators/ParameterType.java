@@ -0,0 +1,18 @@
+package uni.sofia.fmi.mjt.project.validators;
+
+public enum ParameterType {
+    STRING(":<text>"),
+    DATE(":<YYYY-MM-DD>"),
+    NUMBER(":<number>"),
+    FLAG("");
+
+    private final String placeholder;
+
+    ParameterType(String placeholder) {
+        this.placeholder = placeholder;
+    }
+
+    public String getPlaceholder() {
+        return placeholder;
+    }
+}
@@ -1,10 +1,16 @@
-package uni.sofia.fmi.mjt.project.validators;
-
-public abstract class StringValidator {
-    public static void validate(String toCheck, String varName) {
-        if (toCheck == null || toCheck.isEmpty() || toCheck.isBlank()) {
-            throw new IllegalArgumentException(String.format("{ %s } can't be null/empty(length = 0)" +
-                    "/blank(consists of white-spaces)", varName));
-        }
-    }
-}
+package uni.sofia.fmi.mjt.project.validators;
+
+public abstract class StringValidator {
+    static final String INVALID_STRING_MESSAGE = "{ %s } can't be null/empty(length = 0)" +
+            "/blank(consists of white-spaces)";
+
+    public static void validate(String toCheck, String varName) {
+        if (!isValid(toCheck)) {
+            throw new IllegalArgumentException(String.format(INVALID_STRING_MESSAGE, varName));
+        }
+    }
+
+    public static boolean isValid(String toCheck) {
+        return toCheck != null && !toCheck.isEmpty() && !toCheck.isBlank();
+    }
+}
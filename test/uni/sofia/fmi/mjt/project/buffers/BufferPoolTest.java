@@ -0,0 +1,110 @@
+package uni.sofia.fmi.mjt.project.buffers;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BufferPoolTest {
+    private static final int SMALLEST_CLASS_SIZE = 2048;
+    private static final int LARGEST_CLASS_SIZE = 2 << 20;
+    private static final int LARGEST_CLASS_MAX_FREE = 4;
+    private BufferPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new BufferPool();
+    }
+
+    @Test
+    void testLeasedBufferHasCapacityOfItsSizeClass() {
+        ByteBuffer smallest = pool.lease(1);
+        ByteBuffer next = pool.lease(SMALLEST_CLASS_SIZE + 1);
+        ByteBuffer largest = pool.lease(LARGEST_CLASS_SIZE);
+
+        assertTrue(smallest.isDirect(), "Error - pooled buffers need to be direct");
+        assertEquals(SMALLEST_CLASS_SIZE, smallest.capacity(), "Error - small lease need to get the smallest class");
+        assertEquals(1, smallest.limit(), "Error - limit of the leased buffer need to be the requested capacity");
+        assertEquals(0, smallest.position(), "Error - leased buffer need to be empty");
+        assertEquals(4 * SMALLEST_CLASS_SIZE, next.capacity(), "Error - lease need to get the next class" +
+                " when it doesn't fit in the smaller one");
+        assertEquals(LARGEST_CLASS_SIZE, largest.capacity(), "Error - lease of the largest class need to be pooled");
+        assertEquals(new BufferPool.Metrics(3, 0, 3, 0), pool.metrics(), "Error - all leased buffers need to be" +
+                " counted");
+    }
+
+    @Test
+    void testReleasedBufferIsLeasedAgain() {
+        ByteBuffer leased = pool.lease(100);
+        leased.put((byte) 1);
+
+        pool.release(leased);
+
+        assertEquals(new BufferPool.Metrics(0, 1, 1, 0), pool.metrics(), "Error - released buffer need to be" +
+                " kept as free");
+
+        ByteBuffer leasedAgain = pool.lease(SMALLEST_CLASS_SIZE);
+
+        assertTrue(leased == leasedAgain, "Error - free buffer of the size class need to be leased again");
+        assertEquals(0, leasedAgain.position(), "Error - buffer leased again need to be cleared");
+        assertEquals(SMALLEST_CLASS_SIZE, leasedAgain.limit(), "Error - limit of the buffer leased again need to" +
+                " be the newly requested capacity");
+        assertEquals(new BufferPool.Metrics(1, 0, 1, 0), pool.metrics(), "Error - free buffer need to become" +
+                " leased again");
+    }
+
+    @Test
+    void testBufferOutsideSizeClassesIsNotPooled() {
+        ByteBuffer unpooled = pool.lease(LARGEST_CLASS_SIZE + 1);
+
+        assertEquals(LARGEST_CLASS_SIZE + 1, unpooled.capacity(), "Error - lease larger than the largest class" +
+                " need to get exactly the requested capacity");
+
+        pool.release(unpooled);
+        pool.release(null);
+        pool.release(ByteBuffer.allocate(SMALLEST_CLASS_SIZE));
+        pool.release(ByteBuffer.allocateDirect(SMALLEST_CLASS_SIZE - 1));
+
+        assertEquals(new BufferPool.Metrics(0, 0, 0, 1), pool.metrics(), "Error - buffers, that don't belong to" +
+                " any size class, can't be pooled");
+    }
+
+    @Test
+    void testFreeBuffersOfSizeClassAreBounded() {
+        List<ByteBuffer> leased = new ArrayList<>();
+
+        for (int i = 0; i < LARGEST_CLASS_MAX_FREE + 2; i++) {
+            leased.add(pool.lease(LARGEST_CLASS_SIZE));
+        }
+
+        leased.forEach(pool::release);
+
+        assertEquals(new BufferPool.Metrics(0, LARGEST_CLASS_MAX_FREE, LARGEST_CLASS_MAX_FREE + 2, 0)
+                , pool.metrics(), "Error - free buffers of a size class need to be kept up to its bound and the" +
+                " rest need to be dropped");
+    }
+
+    @Test
+    void testBufferReleasedTwiceIsLeasedOnce() {
+        ByteBuffer leased = pool.lease(SMALLEST_CLASS_SIZE);
+
+        pool.release(leased);
+        pool.release(leased);
+
+        assertEquals(new BufferPool.Metrics(0, 1, 1, 0), pool.metrics(), "Error - second release of the same" +
+                " buffer can't be counted");
+
+        ByteBuffer first = pool.lease(SMALLEST_CLASS_SIZE);
+        ByteBuffer second = pool.lease(SMALLEST_CLASS_SIZE);
+
+        assertFalse(first == second, "Error - buffer released twice can't be handed to two leases");
+        assertEquals(new BufferPool.Metrics(2, 0, 2, 0), pool.metrics(), "Error - leased buffers need to be" +
+                " counted also after a second release");
+    }
+}
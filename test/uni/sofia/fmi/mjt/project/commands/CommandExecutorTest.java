@@ -1,553 +1,974 @@
-package uni.sofia.fmi.mjt.project.commands;
-
-import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Test;
-import uni.sofia.fmi.mjt.project.user.Task;
-
-import java.io.ByteArrayOutputStream;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.PrintStream;
-import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.time.LocalDate;
-
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
-import static org.junit.jupiter.api.Assertions.assertEquals;
-
-public class CommandExecutorTest {
-    private static final int PORT1 = 1337;
-    private static final int PORT2 = 5510;
-    private static final int BUFFER_SIZE = 2048;
-    private static final ByteBuffer BUFFER = ByteBuffer.allocateDirect(BUFFER_SIZE);
-    private static ByteBuffer writeToBuffer(String command) {
-        BUFFER.clear();
-        BUFFER.put(command.getBytes());
-        BUFFER.flip();
-
-        return BUFFER;
-    }
-    private static String getServerResponse(ByteBuffer buffer) {
-        byte[] byteArray = new byte[buffer.remaining()];
-        buffer.get(byteArray);
-
-        return new String(byteArray, StandardCharsets.UTF_8);
-    }
-    private CommandExecutor executer;
-    private final PrintStream originalOut = System.out;
-    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
-
-    @BeforeEach
-    void setUp() {
-        executer = new CommandExecutor();
-        System.setOut(new PrintStream(outContent));
-    }
-
-    @AfterEach
-    void cleanUp() {
-        System.setOut(originalOut);
-    }
-
-    @Test
-    void testRegisterUserWithRightParameters() {
-        assertDoesNotThrow(() -> executer.execute(writeToBuffer("register #name:a #password:b"), PORT1)
-                , "User need to be added succsessfully having right parameters");
-    }
-
-    @Test
-    void testRegisterUserAlreadyRegisteredUser() {
-        executer.execute(writeToBuffer("register #name:a #password:b"), PORT2);
-
-        assertDoesNotThrow(() -> executer.execute(writeToBuffer("register #name:a #password:b"), PORT1)
-                , "Error - user is already registered");
-    }
-
-    @Test
-    void testRegisterUserFromLoggedInAccount() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> executer.execute(writeToBuffer("register #name:a #password:b"), PORT1)
-                , "Error - can't perform registration. User is logged in another account");
-    }
-
-    @Test
-    void testRegisterUserWithoutName() {
-        assertDoesNotThrow(() -> executer.execute(writeToBuffer("register #name: #password:b"), PORT1)
-                , "User can't be added succsessfully with empty/blank name parameter");
-    }
-
-    @Test
-    void testRegisterUserWithoutPassword() {
-        assertDoesNotThrow(() -> executer.execute(writeToBuffer("register #name:a #password:"), PORT1)
-                , "User can't be added succsessfully with empty/blank password parameter");
-    }
-
-    @Test
-    void testLoginWithoutAccountExisted() {
-        assertDoesNotThrow(() -> executer.execute(writeToBuffer("login #name:a #password:b"), PORT1)
-                , "User can't be logged in non-existed account");
-    }
-
-    @Test
-    void testLoginWithExistedAccount() {
-        assertDoesNotThrow(() -> executer.execute(writeToBuffer("login #name:a #password:b"), PORT1)
-                , "User need to be logged in exited account with right parameters");
-    }
-
-    @Test
-    void testLoginTwice() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> executer.execute(writeToBuffer("login #name:b #password:b"), PORT1)
-                , "Error - user can't log in without being logged out");
-    }
-
-    @Test
-    void testLoginWithWrongPass() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> executer.execute(writeToBuffer("login #name:b #password:c"), PORT1)
-                , "Error - user can't log in without stating right password");
-    }
-
-    @Test
-    void testGetHelpInfo() {
-        assertEquals(getServerResponse(executer.execute(writeToBuffer("help"), PORT1)), InputRules.HELP_INFO
-                , "Error - user need to receive right info from hardcoded help file");
-    }
-
-    @Test
-    void testGetHelpTaskInfo() {
-        assertEquals(getServerResponse(executer.execute(writeToBuffer("help-task"), PORT1))
-                , InputRules.HELP_TASK_INFO
-                , "Error - user need to receive right info from hardcoded help-task file");
-    }
-
-    @Test
-    void testGetHelpCollaborationInfo() {
-        assertEquals(getServerResponse(executer.execute(writeToBuffer("help-collaboration"), PORT1))
-                , InputRules.HELP_COLLABORATION_INFO
-                , "Error - user need to receive right info from hardcoded help-task file");
-    }
-
-    @Test
-    void testLogoutFromLoggedInAccount() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("logout"), PORT1))
-                , "Error - user need to be successfully logged out, because logging session isn't stopped already");
-    }
-
-    @Test
-    void testAddTaskToUserCorrectlyWithoutDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-task #name:a"), PORT1))
-                , "Error - task need to be added successfully with all right parameters");
-    }
-
-    @Test
-    void testPerformTaskActionWithoutLoggingIn() {
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-task #name:a"), PORT1))
-                , "Error - task can't be added when user is logged out");
-    }
-
-    @Test
-    void testAddTaskToUserCorrectlyWithDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1))
-                , "Error - task need to be added successfully with all right parameters");
-    }
-
-    @Test
-    void testAddTaskToUserAlreadyDefinedWithDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1))
-                , "Error - task is already defined for this user");
-    }
-
-    @Test
-    void testAddTaskToUserAlreadyDefinedWithoutDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:a"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-task #name:a"), PORT1))
-                , "Error - task is already defined for this user");
-    }
-
-    @Test
-    void testUpdateTaskNotExistedTaskWithDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("update-task #name:a #date:2023-03-01"), PORT1))
-                , "Error - task not defined for this user");
-    }
-
-    @Test
-    void testUpdateTaskWithUnParsableDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("update-task #name:a #cur-date:2023-3-01" +
-                        " #due-date:2023-03-15"), PORT1)), "Error - wrong format of current date");
-    }
-
-    @Test
-    void testUpdateTaskNotExistedTaskWithoutDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("update-task #name:a #description:test"), PORT1))
-                , "Error - task not defined for this user");
-    }
-
-    @Test
-    void testUpdateTaskWithCorrectParametersAndDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:Test #date:2023-03-01"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer
-                        .execute(writeToBuffer("update-task #name:a #cur-date:2023-03-01 #date:2023-03-02"), PORT1))
-                , "Error - task need to be updated successfully since parameters are correct");
-    }
-
-    @Test
-    void testUpdateTaskWithCorrectParameters() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:Test"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer
-                        .execute(writeToBuffer("update-task #name:Test #date:2023-03-02 #description:test 2"), PORT1))
-                , "Error - task need to be updated successfully since parameters are correct");
-    }
-
-    @Test
-    void testUpdateTaskWithDateWithNewDueDateWithoutCurDueDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:Test #date:2023-03-01"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer
-                        .execute(writeToBuffer("update-task #name:Test #cur-date:2023-03-01 #due-date:2023-03-03"), PORT1))
-                , "Error - task need to be updated successfully since parameters are correct");
-    }
-
-    @Test
-    void testUpdateTaskWithDateWithNewDueDateWithCurrentDueDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:Test #date:2023-03-01 #due-date:2023-03-02"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer
-                        .execute(writeToBuffer("update-task #name:Test #cur-date:2023-03-01 #due-date:2023-03-03"), PORT1))
-                , "Error - task need to be updated successfully since parameters are correct");
-    }
-
-    @Test
-    void testUpdateTaskWithoutDateWithNewDueDateWithCurrentDueDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:Test #due-date:2023-03-02"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer
-                        .execute(writeToBuffer("update-task #name:Test #due-date:2023-03-03"), PORT1))
-                , "Error - task need to be updated successfully since parameters are correct");
-    }
-
-    @Test
-    void testUpdateTaskWithNewDateAfterCurrentDueDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01 #due-date:2023-03-02"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("update-task #name:a #cur-date:2023-03-01" +
-            " #date:2023-03-03"), PORT1)), "Error - new date must be earlier or equal to current due-date");
-    }
-
-    @Test
-    void testUpdateTaskWithNewDateCreatingDuplicateTasks() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-05"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("update-task #name:a #cur-date:2023-03-01 #date:2023-03-05")
-                , PORT1)), "Error - updating the task creates duplicates in Set. Already existed Task with such name and date");
-    }
-
-    @Test
-    void testDeleteUnExistedTask() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-task #name:a")
-                , PORT1)), "Error - can't find task to delete it");
-    }
-
-    @Test
-    void testDeleteTaskWithDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-task #name:a #date:2023-03-01")
-                , PORT1)), "Error - task need to be deleted with all correct parameters stated");
-    }
-
-    @Test
-    void testDeleteTaskWithoutDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:a"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-task #name:a")
-                , PORT1)), "Error - task need to be deleted with all correct parameters stated");
-    }
-
-    @Test
-    void testGetExistedTask() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:a"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("get-task #name:a")
-                , PORT1)), "Error - task need to be sent to user since all stated parameters were correct");
-    }
-
-    @Test
-    void testGetUnExistedTask() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:a"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("get-task #name:a")
-                , PORT1)), "Error - task task can't be sent to user since it's not existed");
-    }
-
-    @Test
-    void testListTasksInbox() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-tasks")
-                , PORT1)), "Error - all tasks from inbox section must be sent to user");
-    }
-
-    @Test
-    void testListTasksFromUnExistedDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-tasks #date:2023-03-01")
-                , PORT1)), "Error - there is no tasks for the stated date. Nothing must be sent");
-    }
-
-    @Test
-    void testListTasksFromExistedDate() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-tasks #date:2023-03-01")
-                , PORT1)), "Error - all tasks from stated date must be sent to user");
-    }
-
-    @Test
-    void testListTasksCompleted() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-task #name:a"), PORT1);
-        executer.execute(writeToBuffer("finish-task #name:a"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-tasks #completed")
-                , PORT1)), "Error - all completed tasks must be sent to user");
-    }
-
-    @Test
-    void testListDashboardWithParameters() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-dashboard #name:a")
-                , PORT1)), "Error - can't get tasks for today. Command shouldn't have any parameters");
-    }
-
-    @Test
-    void testListDashboardCorrectly() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-dashboard")
-                , PORT1)), "Error - all tasks from today need to be sent to user");
-    }
-
-    @Test
-    void testAddCollaborationWithoutLoggingIn() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-collaboration #name:Test")
-                , PORT1)), "Error - without logging in user can't perform collaborations connected actions");
-    }
-
-    @Test
-    void testAddCollaborationCorrectly() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-collaboration #name:Test")
-                , PORT1)), "Error - collaboration must be added successfully since all conditions are followed");
-    }
-
-    @Test
-    void testListCollaborationsCorrectly() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-collaborations")
-                , PORT1)), "Error - all collaborations of stated user must be sent to him");
-    }
-
-    @Test
-    void testDeleteCollaborationWithoutLoggingIn() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-collaboration #collaboration:Test")
-                , PORT1)), "Error - without logging in user can't perform collaborations connected actions");
-    }
-
-    @Test
-    void testDeleteUnExistedCollaboration() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-collaboration #collaboration:Test")
-                , PORT1)), "Error - can't delete Collaboration that is not existed");
-    }
-
-    @Test
-    void testDeleteCollaborationNotBeingItsMember() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("register #name:a #password:a"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
-        executer.execute(writeToBuffer("logout"), PORT1);
-        executer.execute(writeToBuffer("login #name:a #password:a"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-collaboration #collaboration:Test")
-                , PORT1)), "Error - user that is not member of Collaboration can't delete it");
-    }
-
-    @Test
-    void testDeleteCollaborationNotBeingItsOwner() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("register #name:a #password:a"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
-        executer.execute(writeToBuffer("add-user #collaboration:Test #name:a"), PORT1);
-        executer.execute(writeToBuffer("logout"), PORT1);
-        executer.execute(writeToBuffer("login #name:a #password:a"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-collaboration #collaboration:Test")
-                , PORT1)), "Error - only owner can delete collaboration");
-    }
-
-    @Test
-    void testDeleteCollaborationCorrectly() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("register #name:a #password:a"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
-        executer.execute(writeToBuffer("add-user #collaboration:Test #name:a"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-collaboration #collaboration:Test")
-                , PORT1)), "Error - collaboration must be deleted since attempt was made by its owner");
-    }
-
-    @Test
-    void testCollaborationAddTaskCorrectly() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("collaboration-add-task" +
-                        " #collaboration:Test #name:Test task"), PORT1))
-                , "Error - task need to be added successfully since all parameters are correct");
-    }
-
-    @Test
-    void testCollaborationAddTaskWithAssigneeThatIsNotMember() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("register #name:a #password:a"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("collaboration-add-task" +
-                        " #collaboration:Test #name:Test task #assignee:a"), PORT1))
-                , "Error - task can't be added since stated assignee isn't even member of this collaboration");
-    }
-
-    @Test
-    void testCollaborationListTasksCorrectly() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
-        executer.execute(writeToBuffer("collaboration-add-task" +
-                " #collaboration:Test #name:Test task #description:Test description"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("collaboration-list-tasks" +
-                        " #collaboration:Test"), PORT1))
-                , "Error - all tasks from this collaboration need to sent to user since he is its member");
-    }
-
-    @Test
-    void testCollaborationListUsersCorrectly() {
-        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("register #name:a #password:a"), PORT1);
-        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
-        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
-        executer.execute(writeToBuffer("add-user #collaboration:Test #name:a"), PORT1);
-
-        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-users" +
-                        " #collaboration:Test"), PORT1))
-                , "Error - all user names from this collaboration need to sent to user since he is its member");
-    }
-
-    @Test
-    void testWriteAndReadObjectWithOptionalMembersToFile() throws IOException, ClassNotFoundException {
-        Task toWrite = new Task("Stoyo must go on", null, LocalDate.parse("5000-01-01")
-                , "best course of Java");
-
-        Path pathToBackUp = Files.createTempFile("ForTest", ".ser");
-
-        ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(pathToBackUp.toString()));
-        out.writeObject(toWrite);
-        out.flush();
-        out.close();
-
-        ObjectInputStream in = new ObjectInputStream(new FileInputStream(pathToBackUp.toString()));
-
-        assertEquals(toWrite, (Task) in.readObject(), "Error - objects must be equal" +
-                " since it was written and read correctly");
-    }
-}
+package uni.sofia.fmi.mjt.project.commands;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uni.sofia.fmi.mjt.project.exceptions.NotFoundException;
+import uni.sofia.fmi.mjt.project.protocol.BinaryProtocol;
+import uni.sofia.fmi.mjt.project.protocol.ChunkedReply;
+import uni.sofia.fmi.mjt.project.protocol.FrameCodec;
+import uni.sofia.fmi.mjt.project.protocol.TextProtocol;
+import uni.sofia.fmi.mjt.project.user.Task;
+import uni.sofia.fmi.mjt.project.validators.CommandValidator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandExecutorTest {
+    private static final int PORT1 = 1337;
+    private static final int PORT2 = 5510;
+    private static final int BUFFER_SIZE = 2048;
+    private static final ByteBuffer BUFFER = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    // Back up written by the first version of the server: Users a and b, completed task in the inbox of b, dated task
+    // of b and Collaboration Test of b with member a, one shared task and one task assigned to a
+    private static final String BASELINE_BACK_UP = """
+            rO0ABXNyADJ1bmkuc29maWEuZm1pLm1qdC5wcm9qZWN0LmNvbW1hbmRzLkNvbW1hbmRFeGVjdXRvcsnE+sWAeSJuAgAETAAOY29s
+            bGFib3JhdGlvbnN0AA9MamF2YS91dGlsL1NldDtMAApsb2dpblVzZXJzdAAPTGphdmEvdXRpbC9NYXA7TAASdXNlckNvbGxhYm9y
+            YXRpb25zcQB+AAJMAAV1c2Vyc3EAfgABeHBzcgARamF2YS51dGlsLkhhc2hTZXS6RIWVlri3NAMAAHhwdwwAAAAQP0AAAAAAAAFz
+            cgAsdW5pLnNvZmlhLmZtaS5tanQucHJvamVjdC51c2VyLkNvbGxhYm9yYXRpb26rCoBb6eONXQIABUwACGFzc2lnbmVkcQB+AAJM
+            AAdtZW1iZXJzcQB+AAFMAARuYW1ldAASTGphdmEvbGFuZy9TdHJpbmc7TAAJb3duZXJOYW1lcQB+AAdMAAZzaGFyZWRxAH4AAXhw
+            c3IAEWphdmEudXRpbC5IYXNoTWFwBQfawcMWYNEDAAJGAApsb2FkRmFjdG9ySQAJdGhyZXNob2xkeHA/QAAAAAAADHcIAAAAEAAA
+            AAF0AAFhc3EAfgAEdwwAAAAQP0AAAAAAAAFzcgAjdW5pLnNvZmlhLmZtaS5tanQucHJvamVjdC51c2VyLlRhc2ulxD4jvubk3QMA
+            BEwABGRhdGV0ABRMamF2YS91dGlsL09wdGlvbmFsO0wAC2Rlc2NyaXB0aW9ucQB+AA5MAAdkdWVEYXRlcQB+AA5MAARuYW1lcQB+
+            AAd4cHcXAAZTbGlkZXMBAAo1MDAwLTAxLTA1AAB4eHhzcQB+AAR3DAAAABA/QAAAAAAAAnQAAWF0AAFieHQABFRlc3RxAH4AEnNx
+            AH4ABHcMAAAAED9AAAAAAAABc3EAfgANdwkABFBsYW4AAAB4eHhzcQB+AAk/QAAAAAAADHcIAAAAEAAAAAB4c3EAfgAJP0AAAAAA
+            AAx3CAAAABAAAAACcQB+ABFzcQB+AAR3DAAAABA/QAAAAAAAAXQABFRlc3R4cQB+ABJzcQB+AAR3DAAAABA/QAAAAAAAAXEAfgAT
+            eHhzcQB+AAR3DAAAABA/QAAAAAAAAnNyACN1bmkuc29maWEuZm1pLm1qdC5wcm9qZWN0LnVzZXIuVXNlcosocIrNprsmAgAFTAAJ
+            Y29tcGxldGVkcQB+AAFMAAVpbmJveHEAfgABTAAEbmFtZXEAfgAHTAAIcGFzc3dvcmRxAH4AB0wABXRpbWVkcQB+AAJ4cHNxAH4A
+            BHcMAAAAED9AAAAAAAAAeHNxAH4ABHcMAAAAED9AAAAAAAAAeHQAAWF0AAFhc3EAfgAJP0AAAAAAAAB3CAAAABAAAAAAeHNxAH4A
+            HHNxAH4ABHcMAAAAED9AAAAAAAABc3EAfgANdxwACEJ1eSBtaWxrAAABAA1mcm9tIHRoZSBTaG9weHhzcQB+AAR3DAAAABA/QAAA
+            AAAAAXEAfgAleHEAfgASdAABYnNxAH4ACT9AAAAAAAAMdwgAAAAQAAAAAXNyAA1qYXZhLnRpbWUuU2VylV2EuhsiSLIMAAB4cHcH
+            AwAAE4gBAXhzcQB+AAR3DAAAABA/QAAAAAAAAXNxAH4ADXchAARFeGFtAQAKNTAwMC0wMS0wMQEACjUwMDAtMDEtMDIAeHh4eA==
+            """;
+    private static ByteBuffer writeToBuffer(String command) {
+        BUFFER.clear();
+        BUFFER.put(command.getBytes());
+        BUFFER.flip();
+
+        return BUFFER;
+    }
+    private static String getServerResponse(ByteBuffer buffer) {
+        byte[] byteArray = new byte[buffer.remaining()];
+        buffer.get(byteArray);
+
+        return new String(byteArray, StandardCharsets.UTF_8);
+    }
+    private static CommandExecutor readBackUp(byte[] backUp) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(backUp))) {
+            return (CommandExecutor) in.readObject();
+        }
+    }
+    private static CommandExecutor roundTrip(CommandExecutor executer) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream backUp = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(backUp)) {
+            out.writeObject(executer);
+        }
+
+        return readBackUp(backUp.toByteArray());
+    }
+    private CommandExecutor executer;
+    private final PrintStream originalOut = System.out;
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+
+    @BeforeEach
+    void setUp() {
+        executer = new CommandExecutor();
+        System.setOut(new PrintStream(outContent));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void testRegisterUserWithRightParameters() {
+        assertDoesNotThrow(() -> executer.execute(writeToBuffer("register #name:a #password:b"), PORT1)
+                , "User need to be added succsessfully having right parameters");
+    }
+
+    @Test
+    void testRegisterUserAlreadyRegisteredUser() {
+        executer.execute(writeToBuffer("register #name:a #password:b"), PORT2);
+
+        assertDoesNotThrow(() -> executer.execute(writeToBuffer("register #name:a #password:b"), PORT1)
+                , "Error - user is already registered");
+    }
+
+    @Test
+    void testRegisterUserFromLoggedInAccount() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> executer.execute(writeToBuffer("register #name:a #password:b"), PORT1)
+                , "Error - can't perform registration. User is logged in another account");
+    }
+
+    @Test
+    void testRegisterUserWithoutName() {
+        assertDoesNotThrow(() -> executer.execute(writeToBuffer("register #name: #password:b"), PORT1)
+                , "User can't be added succsessfully with empty/blank name parameter");
+    }
+
+    @Test
+    void testRegisterUserWithoutPassword() {
+        assertDoesNotThrow(() -> executer.execute(writeToBuffer("register #name:a #password:"), PORT1)
+                , "User can't be added succsessfully with empty/blank password parameter");
+    }
+
+    @Test
+    void testLoginWithoutAccountExisted() {
+        assertDoesNotThrow(() -> executer.execute(writeToBuffer("login #name:a #password:b"), PORT1)
+                , "User can't be logged in non-existed account");
+    }
+
+    @Test
+    void testLoginWithExistedAccount() {
+        assertDoesNotThrow(() -> executer.execute(writeToBuffer("login #name:a #password:b"), PORT1)
+                , "User need to be logged in exited account with right parameters");
+    }
+
+    @Test
+    void testLoginTwice() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> executer.execute(writeToBuffer("login #name:b #password:b"), PORT1)
+                , "Error - user can't log in without being logged out");
+    }
+
+    @Test
+    void testLoginWithWrongPass() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> executer.execute(writeToBuffer("login #name:b #password:c"), PORT1)
+                , "Error - user can't log in without stating right password");
+    }
+
+    @Test
+    void testGetHelpInfo() {
+        assertEquals(getServerResponse(executer.execute(writeToBuffer("help"), PORT1)), InputRules.HELP_INFO
+                , "Error - user need to receive right info from hardcoded help file");
+    }
+
+    @Test
+    void testGetHelpTaskInfo() {
+        assertEquals(getServerResponse(executer.execute(writeToBuffer("help-task"), PORT1))
+                , InputRules.HELP_TASK_INFO
+                , "Error - user need to receive right info from hardcoded help-task file");
+    }
+
+    @Test
+    void testGetHelpCollaborationInfo() {
+        assertEquals(getServerResponse(executer.execute(writeToBuffer("help-collaboration"), PORT1))
+                , InputRules.HELP_COLLABORATION_INFO
+                , "Error - user need to receive right info from hardcoded help-task file");
+    }
+
+    @Test
+    void testGetHelpInfoThroughBinaryProtocol() {
+        BinaryProtocol protocol = new BinaryProtocol();
+        executer.execute(BinaryProtocol.handshake(), PORT1);
+
+        ByteBuffer reply = executer.execute(protocol.encodeRequest(new Command(Commands.HELP, Map.of())), PORT1);
+
+        assertEquals(new TextProtocol().render(protocol.decodeReply(reply)), InputRules.HELP_INFO
+                , "Error - binary reply need to carry the same info as the text one");
+    }
+
+    @Test
+    void testBinaryTaskRecordsAreDecodedCorrectly() {
+        BinaryProtocol protocol = new BinaryProtocol();
+        executer.execute(BinaryProtocol.handshake(), PORT1);
+        executer.execute(protocol.encodeRequest(new Command(Commands.REGISTRATION
+                , Map.of("name", "a", "password", "b"))), PORT1);
+        executer.execute(protocol.encodeRequest(new Command(Commands.LOGIN
+                , Map.of("name", "a", "password", "b"))), PORT1);
+        executer.execute(protocol.encodeRequest(new Command(Commands.ADD_TASK
+                , Map.of("name", "Test", "due-date", "5000-01-01", "description", "binary"))), PORT1);
+
+        Reply reply = protocol.decodeReply(executer.execute(protocol.encodeRequest(new Command(Commands.GET_TASK
+                , Map.of("name", "Test"))), PORT1));
+
+        assertEquals(new Task("Test", null, LocalDate.parse("5000-01-01"), "binary").toString()
+                , reply.tasks().get(0).toString()
+                , "Error - task record need to keep all of its fields after binary encoding");
+    }
+
+    @Test
+    void testBinaryDatesAndNumbersAreDecodedOnce() {
+        BinaryProtocol protocol = new BinaryProtocol();
+        Command command = protocol.decodeRequest(protocol.encodeRequest(new Command(Commands.LIST_DUE
+                , Map.of("within", "7", "limit", "5"))));
+
+        assertTrue(command.args().get("within") instanceof Integer, "Error - binary number need to be decoded" +
+                " straight into a number, not into text");
+
+        Arguments arguments = CommandValidator.schemaFor(command.type()).validate(command);
+
+        assertEquals(7, arguments.getNumber("within"), "Error - decoded number need to reach arguments as it is");
+        assertEquals(LocalDate.parse("5000-01-01"), protocol.decodeRequest(protocol.encodeRequest(
+                new Command(Commands.ADD_TASK, Map.of("name", "a", "date", "5000-01-01")))).args().get("date")
+                , "Error - binary date need to be decoded straight into a date");
+    }
+
+    @Test
+    void testBinaryStringLongerThanFrameIsRejected() {
+        BinaryProtocol protocol = new BinaryProtocol();
+        executer.execute(BinaryProtocol.handshake(), PORT1);
+
+        for (byte last : List.of((byte) 0x07, (byte) 0x0F)) {
+            ByteBuffer request = ByteBuffer.wrap(new byte[] {(byte) CommandType.LOGIN.getOpcode(), 1, 1
+                , (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, last, 'a'});
+
+            assertTrue(protocol.decodeReply(executer.execute(request, PORT1)).message().startsWith("{Binary string")
+                    , "Error - stated length of a string need to fit into the rest of the frame");
+        }
+    }
+
+    @Test
+    void testLogoutFromLoggedInAccount() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("logout"), PORT1))
+                , "Error - user need to be successfully logged out, because logging session isn't stopped already");
+    }
+
+    @Test
+    void testAddTaskToUserCorrectlyWithoutDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-task #name:a"), PORT1))
+                , "Error - task need to be added successfully with all right parameters");
+    }
+
+    @Test
+    void testPerformTaskActionWithoutLoggingIn() {
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-task #name:a"), PORT1))
+                , "Error - task can't be added when user is logged out");
+    }
+
+    @Test
+    void testAddTaskToUserCorrectlyWithDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1))
+                , "Error - task need to be added successfully with all right parameters");
+    }
+
+    @Test
+    void testAddTaskToUserAlreadyDefinedWithDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1))
+                , "Error - task is already defined for this user");
+    }
+
+    @Test
+    void testAddTaskToUserAlreadyDefinedWithoutDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-task #name:a"), PORT1))
+                , "Error - task is already defined for this user");
+    }
+
+    @Test
+    void testUpdateTaskNotExistedTaskWithDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("update-task #name:a #date:2023-03-01"), PORT1))
+                , "Error - task not defined for this user");
+    }
+
+    @Test
+    void testUpdateTaskWithUnParsableDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("update-task #name:a #cur-date:2023-3-01" +
+                        " #due-date:2023-03-15"), PORT1)), "Error - wrong format of current date");
+    }
+
+    @Test
+    void testUpdateTaskNotExistedTaskWithoutDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("update-task #name:a #description:test"), PORT1))
+                , "Error - task not defined for this user");
+    }
+
+    @Test
+    void testUpdateTaskWithCorrectParametersAndDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Test #date:2023-03-01"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer
+                        .execute(writeToBuffer("update-task #name:a #cur-date:2023-03-01 #date:2023-03-02"), PORT1))
+                , "Error - task need to be updated successfully since parameters are correct");
+    }
+
+    @Test
+    void testUpdateTaskWithCorrectParameters() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Test"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer
+                        .execute(writeToBuffer("update-task #name:Test #date:2023-03-02 #description:test 2"), PORT1))
+                , "Error - task need to be updated successfully since parameters are correct");
+    }
+
+    @Test
+    void testUpdateTaskWithDateWithNewDueDateWithoutCurDueDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Test #date:2023-03-01"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer
+                        .execute(writeToBuffer("update-task #name:Test #cur-date:2023-03-01 #due-date:2023-03-03"), PORT1))
+                , "Error - task need to be updated successfully since parameters are correct");
+    }
+
+    @Test
+    void testUpdateTaskWithDateWithNewDueDateWithCurrentDueDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Test #date:2023-03-01 #due-date:2023-03-02"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer
+                        .execute(writeToBuffer("update-task #name:Test #cur-date:2023-03-01 #due-date:2023-03-03"), PORT1))
+                , "Error - task need to be updated successfully since parameters are correct");
+    }
+
+    @Test
+    void testUpdateTaskWithoutDateWithNewDueDateWithCurrentDueDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Test #due-date:2023-03-02"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer
+                        .execute(writeToBuffer("update-task #name:Test #due-date:2023-03-03"), PORT1))
+                , "Error - task need to be updated successfully since parameters are correct");
+    }
+
+    @Test
+    void testUpdateTaskWithNewDateAfterCurrentDueDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01 #due-date:2023-03-02"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("update-task #name:a #cur-date:2023-03-01" +
+            " #date:2023-03-03"), PORT1)), "Error - new date must be earlier or equal to current due-date");
+    }
+
+    @Test
+    void testUpdateTaskWithNewDateCreatingDuplicateTasks() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-05"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("update-task #name:a #cur-date:2023-03-01 #date:2023-03-05")
+                , PORT1)), "Error - updating the task creates duplicates in Set. Already existed Task with such name and date");
+    }
+
+    @Test
+    void testDeleteUnExistedTask() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-task #name:a")
+                , PORT1)), "Error - can't find task to delete it");
+    }
+
+    @Test
+    void testDeleteTaskWithDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-task #name:a #date:2023-03-01")
+                , PORT1)), "Error - task need to be deleted with all correct parameters stated");
+    }
+
+    @Test
+    void testDeletedLastTaskOfDateFreesTheDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        LocalDate first = LocalDate.now().plusDays(1);
+        for (int i = 0; i < 40; i++) {
+            executer.execute(writeToBuffer("add-task #name:a #date:" + first.plusDays(i)), PORT1);
+        }
+
+        executer.execute(writeToBuffer("delete-task #name:a #date:" + first.plusDays(20)), PORT1);
+
+        assertEquals(String.format("{There is no tasks for the date <%s> }", first.plusDays(20))
+                , getServerResponse(executer.execute(writeToBuffer("list-tasks #date:" + first.plusDays(20)), PORT1))
+                , "Error - date without tasks left can't have tasks");
+
+        String range = getServerResponse(executer.execute(writeToBuffer("list-tasks #from:" + first
+                + " #to:" + first.plusDays(39)), PORT1));
+
+        assertEquals(39, range.split("Task\\{").length - 1, "Error - all tasks left in the range need to be sent");
+        assertTrue(range.indexOf(first.plusDays(19).toString()) < range.indexOf(first.plusDays(21).toString())
+                , "Error - tasks in the range need to be ordered by date");
+    }
+
+    @Test
+    void testDeleteTaskWithoutDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-task #name:a")
+                , PORT1)), "Error - task need to be deleted with all correct parameters stated");
+    }
+
+    @Test
+    void testGetExistedTask() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("get-task #name:a")
+                , PORT1)), "Error - task need to be sent to user since all stated parameters were correct");
+    }
+
+    @Test
+    void testGetUnExistedTask() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("get-task #name:a")
+                , PORT1)), "Error - task task can't be sent to user since it's not existed");
+    }
+
+    @Test
+    void testListTasksInbox() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-tasks")
+                , PORT1)), "Error - all tasks from inbox section must be sent to user");
+    }
+
+    @Test
+    void testListTasksFromUnExistedDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-tasks #date:2023-03-01")
+                , PORT1)), "Error - there is no tasks for the stated date. Nothing must be sent");
+    }
+
+    @Test
+    void testListTasksFromExistedDate() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a #date:2023-03-01"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-tasks #date:2023-03-01")
+                , PORT1)), "Error - all tasks from stated date must be sent to user");
+    }
+
+    @Test
+    void testListTasksCompleted() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a"), PORT1);
+        executer.execute(writeToBuffer("finish-task #name:a"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-tasks #completed")
+                , PORT1)), "Error - all completed tasks must be sent to user");
+    }
+
+    @Test
+    void testCompletedTaskStaysCompletedAfterBackUp() throws IOException, ClassNotFoundException {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a #description:done"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:c"), PORT1);
+        executer.execute(writeToBuffer("finish-task #name:a"), PORT1);
+        executer.closeSession(PORT1);
+
+        CommandExecutor restored = roundTrip(executer);
+
+        restored.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertEquals(List.of(new Task("a", null, null, "done")).toString(), getServerResponse(restored.execute(
+                writeToBuffer("list-tasks #completed"), PORT1))
+                , "Error - only completed tasks need to be sent, also after reading them from the back up");
+    }
+
+    @Test
+    void testBackUpOfFirstVersionIsRestored() throws IOException, ClassNotFoundException {
+        CommandExecutor restored = readBackUp(Base64.getMimeDecoder().decode(BASELINE_BACK_UP));
+
+        restored.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        restored.execute(writeToBuffer("login #name:a #password:a"), PORT2);
+
+        assertEquals(List.of(new Task("Buy milk", null, null, "from the Shop")).toString(), getServerResponse(
+                restored.execute(writeToBuffer("list-tasks #completed"), PORT1))
+                , "Error - completed tasks need to stay completed after reading the old back up");
+        assertEquals(List.of(new Task("Exam", LocalDate.parse("5000-01-01"), LocalDate.parse("5000-01-02"), null))
+                .toString(), getServerResponse(restored.execute(writeToBuffer("list-tasks #date:5000-01-01"), PORT1))
+                , "Error - dated tasks need to be kept with their dates after reading the old back up");
+        assertEquals("[a, b]", getServerResponse(restored.execute(writeToBuffer("list-users #collaboration:Test")
+                , PORT2)), "Error - members need to be kept after reading the old back up");
+        assertEquals(List.of(new Task("Plan", null, null, null)
+                        , new Task("Slides", LocalDate.parse("5000-01-05"), null, null)).toString()
+                , getServerResponse(restored.execute(writeToBuffer("collaboration-list-tasks #collaboration:Test")
+                        , PORT2)), "Error - shared and assigned tasks need to be kept after reading the old back up");
+        assertTrue(getServerResponse(restored.execute(writeToBuffer("delete-collaboration #collaboration:Test")
+                , PORT2)).contains("isn't owner"), "Error - owner need to be kept after reading the old back up");
+    }
+
+    @Test
+    void testListDashboardWithParameters() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-dashboard #name:a")
+                , PORT1)), "Error - can't get tasks for today. Command shouldn't have any parameters");
+    }
+
+    @Test
+    void testListDashboardCorrectly() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-dashboard")
+                , PORT1)), "Error - all tasks from today need to be sent to user");
+    }
+
+    @Test
+    void testAddCollaborationWithoutLoggingIn() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-collaboration #name:Test")
+                , PORT1)), "Error - without logging in user can't perform collaborations connected actions");
+    }
+
+    @Test
+    void testAddCollaborationCorrectly() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("add-collaboration #name:Test")
+                , PORT1)), "Error - collaboration must be added successfully since all conditions are followed");
+    }
+
+    @Test
+    void testListCollaborationsCorrectly() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-collaborations")
+                , PORT1)), "Error - all collaborations of stated user must be sent to him");
+    }
+
+    @Test
+    void testDeleteCollaborationWithoutLoggingIn() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-collaboration #collaboration:Test")
+                , PORT1)), "Error - without logging in user can't perform collaborations connected actions");
+    }
+
+    @Test
+    void testDeleteUnExistedCollaboration() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-collaboration #collaboration:Test")
+                , PORT1)), "Error - can't delete Collaboration that is not existed");
+    }
+
+    @Test
+    void testDeleteCollaborationNotBeingItsMember() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("register #name:a #password:a"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
+        executer.execute(writeToBuffer("logout"), PORT1);
+        executer.execute(writeToBuffer("login #name:a #password:a"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-collaboration #collaboration:Test")
+                , PORT1)), "Error - user that is not member of Collaboration can't delete it");
+    }
+
+    @Test
+    void testDeleteCollaborationNotBeingItsOwner() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("register #name:a #password:a"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
+        executer.execute(writeToBuffer("add-user #collaboration:Test #name:a"), PORT1);
+        executer.execute(writeToBuffer("logout"), PORT1);
+        executer.execute(writeToBuffer("login #name:a #password:a"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-collaboration #collaboration:Test")
+                , PORT1)), "Error - only owner can delete collaboration");
+    }
+
+    @Test
+    void testCollaborationMembershipSurvivesBackUp() throws IOException, ClassNotFoundException {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("register #name:a #password:a"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
+        executer.execute(writeToBuffer("add-collaboration #name:Other"), PORT1);
+        executer.execute(writeToBuffer("add-user #collaboration:Test #name:a"), PORT1);
+        executer.closeSession(PORT1);
+
+        CommandExecutor restored = roundTrip(executer);
+
+        restored.execute(writeToBuffer("login #name:a #password:a"), PORT1);
+        restored.execute(writeToBuffer("login #name:b #password:b"), PORT2);
+
+        assertEquals("[Test]", getServerResponse(restored.execute(writeToBuffer("list-collaborations"), PORT1))
+                , "Error - member need to see only collaborations he was added to");
+        assertEquals("[a, b]", getServerResponse(restored.execute(writeToBuffer("list-users #collaboration:Test")
+                , PORT1)), "Error - all members need to be kept after reading the back up");
+        assertTrue(getServerResponse(restored.execute(writeToBuffer("delete-collaboration #collaboration:Test")
+                , PORT1)).contains("isn't owner"), "Error - only owner can delete collaboration");
+        assertTrue(getServerResponse(restored.execute(writeToBuffer("list-users #collaboration:Other")
+                , PORT1)).contains("isn't member"), "Error - not a member can't see the collaboration");
+        assertEquals("{Collaboration was deleted successfully by its owner}", getServerResponse(restored.execute(
+                writeToBuffer("delete-collaboration #collaboration:Test"), PORT2)), "Error - owner can delete it");
+        assertEquals("[]", getServerResponse(restored.execute(writeToBuffer("list-collaborations"), PORT1))
+                , "Error - deleted collaboration can't be listed for its members");
+    }
+
+    @Test
+    void testDeleteCollaborationCorrectly() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("register #name:a #password:a"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
+        executer.execute(writeToBuffer("add-user #collaboration:Test #name:a"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("delete-collaboration #collaboration:Test")
+                , PORT1)), "Error - collaboration must be deleted since attempt was made by its owner");
+    }
+
+    @Test
+    void testCollaborationAddTaskCorrectly() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("collaboration-add-task" +
+                        " #collaboration:Test #name:Test task"), PORT1))
+                , "Error - task need to be added successfully since all parameters are correct");
+    }
+
+    @Test
+    void testCollaborationAddTaskWithAssigneeThatIsNotMember() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("register #name:a #password:a"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("collaboration-add-task" +
+                        " #collaboration:Test #name:Test task #assignee:a"), PORT1))
+                , "Error - task can't be added since stated assignee isn't even member of this collaboration");
+    }
+
+    @Test
+    void testCollaborationListTasksCorrectly() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
+        executer.execute(writeToBuffer("collaboration-add-task" +
+                " #collaboration:Test #name:Test task #description:Test description"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("collaboration-list-tasks" +
+                        " #collaboration:Test"), PORT1))
+                , "Error - all tasks from this collaboration need to sent to user since he is its member");
+    }
+
+    @Test
+    void testCollaborationListUsersCorrectly() {
+        executer.execute(writeToBuffer("register #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("register #name:a #password:a"), PORT1);
+        executer.execute(writeToBuffer("login #name:b #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-collaboration #name:Test"), PORT1);
+        executer.execute(writeToBuffer("add-user #collaboration:Test #name:a"), PORT1);
+
+        assertDoesNotThrow(() -> getServerResponse(executer.execute(writeToBuffer("list-users" +
+                        " #collaboration:Test"), PORT1))
+                , "Error - all user names from this collaboration need to sent to user since he is its member");
+    }
+
+    @Test
+    void testListTasksInDateRangeCorrectly() {
+        executer.execute(writeToBuffer("register #name:a #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:a #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Late #date:5000-01-20"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Second #date:5000-01-07"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:First #date:5000-01-02"), PORT1);
+
+        String response = getServerResponse(executer.execute(writeToBuffer("list-tasks" +
+                " #from:5000-01-01 #to:5000-01-07"), PORT1));
+
+        assertTrue(response.indexOf("First") < response.indexOf("Second") && response.contains("First")
+                , "Error - tasks in the range need to be sent ordered by their date");
+        assertTrue(!response.contains("Late"), "Error - tasks after the end of the range can't be sent");
+    }
+
+    @Test
+    void testListDueSkipsCompletedTasks() {
+        LocalDate dueDate = LocalDate.now().plusDays(2);
+
+        executer.execute(writeToBuffer("register #name:a #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:a #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Open #due-date:" + dueDate), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Done #due-date:" + dueDate), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Later #due-date:" + dueDate.plusDays(30)), PORT1);
+        executer.execute(writeToBuffer("finish-task #name:Done"), PORT1);
+
+        String response = getServerResponse(executer.execute(writeToBuffer("list-due #within:7"), PORT1));
+
+        assertTrue(response.contains("Open") && !response.contains("Done") && !response.contains("Later")
+                , "Error - only not completed tasks due in the stated days need to be sent");
+    }
+
+    @Test
+    void testListDueWithinTooManyDaysIsRejected() {
+        executer.execute(writeToBuffer("register #name:a #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:a #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Open #due-date:" + LocalDate.now().plusDays(2)), PORT1);
+
+        String longest = getServerResponse(executer.execute(writeToBuffer("list-due #within:"
+                + CommandValidator.MAX_WITHIN_DAYS), PORT1));
+        String tooLong = getServerResponse(executer.execute(writeToBuffer("list-due #within:2147483647"), PORT1));
+
+        assertTrue(longest.contains("Open"), "Error - tasks due in the longest allowed range need to be sent");
+        assertTrue(tooLong.startsWith("{Parameter <within> need to be between 0 and"), "Error - count of days" +
+                " longer than allowed need to be rejected as a mistake of the client");
+    }
+
+    @Test
+    void testSearchTasksMatchesAllWords() {
+        executer.execute(writeToBuffer("register #name:a #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:a #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Buy milk #description:from the Shop"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Buy bread"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:Visit shop"), PORT1);
+
+        String response = getServerResponse(executer.execute(writeToBuffer("search-tasks #query:shop BUY"), PORT1));
+
+        assertTrue(response.contains("Buy milk") && !response.contains("Buy bread")
+                && !response.contains("Visit shop"), "Error - only tasks containing all words of the query" +
+                " need to be sent");
+    }
+
+    @Test
+    void testListTasksPagesContinueFromCursor() {
+        executer.execute(writeToBuffer("register #name:a #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:a #password:b"), PORT1);
+
+        for (String name : List.of("e", "c", "a", "d", "b")) {
+            executer.execute(writeToBuffer("add-task #name:" + name), PORT1);
+        }
+
+        StringBuilder sent = new StringBuilder();
+        String command = "list-tasks #limit:2";
+
+        for (int pages = 0; pages < 5; pages++) {
+            String response = getServerResponse(executer.execute(writeToBuffer(command), PORT1));
+            Matcher cursor = Pattern.compile("#cursor:(\\S+)}").matcher(response);
+
+            for (Matcher name = Pattern.compile("name='(\\w)'").matcher(response); name.find(); ) {
+                sent.append(name.group(1));
+            }
+
+            if (!cursor.find()) {
+                break;
+            }
+
+            command = "list-tasks #limit:2 #cursor:" + cursor.group(1);
+        }
+
+        assertEquals("abcde", sent.toString(), "Error - pages need to contain every task exactly once" +
+                " in stable order");
+    }
+
+    @Test
+    void testForgedCursorIsRejected() {
+        executer.execute(writeToBuffer("register #name:a #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:a #password:b"), PORT1);
+        executer.execute(writeToBuffer("add-task #name:a"), PORT1);
+
+        for (String count : List.of("-1", "2147483647", String.valueOf(PageRequest.MAX_LIMIT + 1))) {
+            String cursor = Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((count + ":a").getBytes(StandardCharsets.UTF_8));
+            String response = getServerResponse(executer.execute(writeToBuffer("list-tasks #cursor:" + cursor)
+                    , PORT1));
+
+            assertTrue(response.startsWith("{Cursor <" + cursor + "> isn't valid"), "Error - cursor with count" +
+                    " of sent items out of range can't be accepted");
+        }
+    }
+
+    @Test
+    void testLongReplyIsSplitIntoChunkFrames() {
+        executer.execute(writeToBuffer("register #name:a #password:b"), PORT1);
+        executer.execute(writeToBuffer("login #name:a #password:b"), PORT1);
+
+        for (int i = 0; i < PageRequest.DEFAULT_LIMIT; i++) {
+            executer.execute(writeToBuffer("add-task #name:Task" + i + " #description:" + "d".repeat(200)), PORT1);
+        }
+
+        String expected = getServerResponse(executer.execute(writeToBuffer("list-tasks"), PORT1));
+        ChunkedReply reply = executer.executeChunked(writeToBuffer("list-tasks"), PORT1);
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+        int frames = 0;
+
+        while (reply.hasNext()) {
+            ByteBuffer frame = reply.nextFrame();
+            int header = frame.getInt();
+
+            assertEquals(reply.hasNext(), header < 0, "Error - only the last chunk can be without continuation bit");
+            assertTrue(frame.remaining() <= FrameCodec.MAX_CHUNK_SIZE, "Error - chunk can't be longer than allowed");
+
+            byte[] payload = new byte[frame.remaining()];
+            frame.get(payload);
+
+            joined.writeBytes(payload);
+            frames++;
+        }
+
+        assertTrue(frames > 1, "Error - long reply need to be sent as several chunk frames");
+        assertEquals(expected, joined.toString(StandardCharsets.UTF_8), "Error - chunks need to contain the same" +
+                " reply as not chunked one");
+    }
+
+    @Test
+    void testChunkedReplyIsCountedByItsWholeSize() {
+        List<Task> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 500; i++) {
+            tasks.add(new Task("Task" + i, LocalDate.of(2030, 1, 2), LocalDate.of(2030, 1, 9), "d".repeat(100)));
+        }
+
+        for (ChunkedReply reply : List.of(new TextProtocol().encodeChunkedReply(Reply.tasks(tasks))
+                , new BinaryProtocol().encodeChunkedReply(Reply.tasks(tasks)))) {
+            long bound = reply.remainingBytesBound();
+            long sent = 0;
+
+            while (reply.hasNext()) {
+                sent += reply.nextFrame().remaining();
+
+                assertTrue(sent + reply.remainingBytesBound() <= bound, "Error - estimate of the rest of the reply" +
+                        " can't grow while it is sent");
+            }
+
+            assertTrue(sent > FrameCodec.CHUNK_FRAME_SIZE && sent <= bound, "Error - reply that isn't sent yet need" +
+                    " to be counted by all of its bytes, not by one frame");
+            assertEquals(0L, reply.remainingBytesBound(), "Error - sent reply has nothing left to count");
+        }
+    }
+
+    @Test
+    void testWrittenReplyMatchesRenderedText() {
+        TextProtocol protocol = new TextProtocol();
+
+        for (String shift : List.of("", "d")) {
+            Reply reply = Reply.tasks(List.of(new Task("Задача", LocalDate.of(2030, 1, 2), LocalDate.of(2030, 1, 9)
+                    , shift + "ж".repeat(FrameCodec.CHUNK_FRAME_SIZE)), new Task("Inbox", null, null, null)
+                    , new Task("Far", LocalDate.of(12345, 6, 7), null, "x")), "cursor");
+
+            assertEquals(protocol.render(reply), getServerResponse(protocol.encodeReply(reply)), "Error - reply" +
+                    " written into the buffer need to be the same as rendered text");
+        }
+
+        assertEquals(protocol.render(Reply.constant(InputRules.HELP_INFO))
+                , getServerResponse(protocol.encodeReply(Reply.constant(InputRules.HELP_INFO)))
+                , "Error - pre-encoded message need to be sent as it is");
+    }
+
+    @Test
+    void testWrittenReplyKeepsSurrogatePairsAcrossChunks() {
+        TextProtocol text = new TextProtocol();
+        BinaryProtocol binary = new BinaryProtocol();
+
+        for (String shift : List.of("", "d")) {
+            String emojis = shift + "\uD83D\uDE00".repeat(FrameCodec.CHUNK_FRAME_SIZE);
+            Reply reply = Reply.task(new Task(emojis, null, null, emojis + "\uD800"));
+
+            assertEquals(getServerResponse(ByteBuffer.wrap(text.render(reply).getBytes(StandardCharsets.UTF_8)))
+                    , getServerResponse(text.encodeReply(reply)), "Error - surrogate pair" +
+                    " split between two encoded parts of the text need to be written whole");
+            assertEquals(reply.tasks().get(0).getName(), binary.decodeReply(binary.encodeReply(reply)).tasks()
+                    .get(0).getName(), "Error - stated length of binary string need to match its written bytes");
+        }
+
+        assertEquals("null", getServerResponse(text.encodeReply(Reply.message(null))), "Error - missing message" +
+                " need to be written as null instead of failing");
+    }
+
+    @Test
+    void testClientErrorIsRepliedWithoutStackTrace() {
+        String response = getServerResponse(executer.execute(writeToBuffer("login #name:a #password:b"), PORT1));
+
+        assertTrue(response.startsWith("{Undefined User account"), "Error - reason of the mistake need to be" +
+                " sent to the client");
+        assertEquals(0, new NotFoundException("{Test}").getStackTrace().length, "Error - expected mistakes" +
+                " of the client must not capture stack trace");
+    }
+
+    @Test
+    void testWriteAndReadObjectWithOptionalMembersToFile() throws IOException, ClassNotFoundException {
+        Task toWrite = new Task("Stoyo must go on", null, LocalDate.parse("5000-01-01")
+                , "best course of Java");
+
+        Path pathToBackUp = Files.createTempFile("ForTest", ".ser");
+
+        ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(pathToBackUp.toString()));
+        out.writeObject(toWrite);
+        out.flush();
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream(new FileInputStream(pathToBackUp.toString()));
+
+        assertEquals(toWrite, (Task) in.readObject(), "Error - objects must be equal" +
+                " since it was written and read correctly");
+    }
+}
@@ -0,0 +1,140 @@
+package uni.sofia.fmi.mjt.project.protocol;
+
+import org.junit.jupiter.api.Test;
+import uni.sofia.fmi.mjt.project.buffers.BufferPool;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FrameCodecTest {
+    private static final int INPUT_SIZE = 64;
+    private static final int PIECE_SIZE = 3;
+    private static byte[] toFrames(String... payloads) {
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+
+        for (String payload : payloads) {
+            ByteBuffer frame = FrameCodec.encode(payload);
+            byte[] bytes = new byte[frame.remaining()];
+
+            frame.get(bytes);
+            frames.writeBytes(bytes);
+            BufferPool.shared().release(frame);
+        }
+
+        return frames.toByteArray();
+    }
+    private static byte[] toChunkFrames(String... chunks) {
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+
+        for (int i = 0; i < chunks.length; i++) {
+            byte[] payload = chunks[i].getBytes(StandardCharsets.UTF_8);
+            ByteBuffer frame = ByteBuffer.allocate(FrameCodec.HEADER_SIZE + payload.length)
+                    .position(FrameCodec.HEADER_SIZE).put(payload);
+
+            frames.writeBytes(FrameCodec.finishChunk(frame, i < chunks.length - 1).array());
+        }
+
+        return frames.toByteArray();
+    }
+    private static ReadableByteChannel channelOf(byte[] bytes) {
+        return Channels.newChannel(new ByteArrayInputStream(bytes));
+    }
+    private static String toString(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testIncompleteFrameLeavesBufferUntouched() throws ProtocolException {
+        byte[] frame = toFrames("help");
+        ByteBuffer onlyHeaderPart = ByteBuffer.wrap(frame, 0, FrameCodec.HEADER_SIZE - 1);
+        ByteBuffer onlyPayloadPart = ByteBuffer.wrap(frame, 0, frame.length - 1);
+
+        assertEquals(null, FrameCodec.nextFrame(onlyHeaderPart), "Error - frame can't be taken before" +
+                " its whole header is received");
+        assertEquals(0, onlyHeaderPart.position(), "Error - incomplete header need to stay in the buffer");
+        assertEquals(null, FrameCodec.nextFrame(onlyPayloadPart), "Error - frame can't be taken before" +
+                " its whole payload is received");
+        assertEquals(0, onlyPayloadPart.position(), "Error - incomplete frame need to stay in the buffer");
+    }
+
+    @Test
+    void testFramesSplitAcrossReadsAreReassembled() throws ProtocolException {
+        List<String> sent = List.of("login #name:a #password:a", "", "add-task #name:Buy milk", "list-tasks");
+        byte[] stream = toFrames(sent.toArray(String[]::new));
+        ByteBuffer input = ByteBuffer.allocate(INPUT_SIZE);
+        List<String> received = new ArrayList<>();
+
+        for (int from = 0; from < stream.length; from += PIECE_SIZE) {
+            input.put(Arrays.copyOfRange(stream, from, Math.min(from + PIECE_SIZE, stream.length))).flip();
+
+            ByteBuffer frame;
+            while ((frame = FrameCodec.nextFrame(input)) != null) {
+                received.add(toString(frame));
+            }
+
+            input.compact();
+        }
+
+        assertEquals(sent, received, "Error - frames received in pieces need to be taken whole and in order");
+        assertEquals(0, input.position(), "Error - no bytes need to be left after the last frame");
+    }
+
+    @Test
+    void testFrameLengthOutOfRangeIsRejected() {
+        ByteBuffer negative = ByteBuffer.allocate(FrameCodec.HEADER_SIZE).putInt(0, -1);
+        ByteBuffer tooLong = ByteBuffer.allocate(FrameCodec.HEADER_SIZE).putInt(0, FrameCodec.MAX_FRAME_SIZE + 1);
+
+        assertThrows(ProtocolException.class, () -> FrameCodec.nextFrame(negative)
+                , "Error - negative frame length can't be accepted");
+        assertThrows(ProtocolException.class, () -> FrameCodec.nextFrame(tooLong)
+                , "Error - frame longer than the allowed maximum can't be accepted");
+    }
+
+    @Test
+    void testChunksOfReplyAreJoined() throws IOException {
+        String first = "a".repeat(1500);
+        String second = "b".repeat(1500);
+        String last = "c".repeat(10);
+        ByteBuffer header = ByteBuffer.allocate(FrameCodec.HEADER_SIZE);
+
+        ByteBuffer reply = FrameCodec.readReply(channelOf(toChunkFrames(first, second, last)), header);
+
+        assertEquals(first + second + last, toString(reply), "Error - chunks of one reply need to be joined" +
+                " in the order they were sent");
+        BufferPool.shared().release(reply);
+    }
+
+    @Test
+    void testChannelClosedInTheMiddleOfFrameIsReported() throws IOException {
+        byte[] frame = toFrames("help");
+        ByteBuffer header = ByteBuffer.allocate(FrameCodec.HEADER_SIZE);
+
+        assertEquals(null, FrameCodec.readFrame(channelOf(new byte[0]), header), "Error - channel closed" +
+                " between frames isn't an error");
+        assertThrows(EOFException.class, () -> FrameCodec.readFrame(channelOf(Arrays.copyOf(frame, 2)), header)
+                , "Error - channel closed in the middle of a header need to be reported");
+        assertThrows(EOFException.class, () -> FrameCodec.readFrame(channelOf(Arrays.copyOf(frame
+                , frame.length - 1)), header), "Error - channel closed in the middle of a payload need to be reported");
+        assertEquals("first", toString(FrameCodec.readReply(channelOf(toChunkFrames("first")), header))
+                , "Error - reply of a single chunk need to be read");
+        assertThrows(EOFException.class, () -> FrameCodec.readReply(channelOf(Arrays.copyOf(toChunkFrames("first"
+                , "second"), FrameCodec.HEADER_SIZE + 5)), header), "Error - reply cut after a continued chunk" +
+                " need to be reported");
+    }
+}
@@ -0,0 +1,130 @@
+package uni.sofia.fmi.mjt.project.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uni.sofia.fmi.mjt.project.buffers.BufferPool;
+import uni.sofia.fmi.mjt.project.commands.CommandExecutor;
+import uni.sofia.fmi.mjt.project.protocol.ChunkedReply;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CommandDispatcherTest {
+    private static final int PORT1 = 1337;
+    private static final int PORT2 = 5510;
+    private static final int SHARDS_COUNT = 4;
+    private static final int TASKS_COUNT = 200;
+    private static ByteBuffer leaseCommand(String command) {
+        byte[] bytes = command.getBytes(StandardCharsets.UTF_8);
+
+        return BufferPool.shared().lease(bytes.length).put(bytes).flip();
+    }
+    private static List<ByteBuffer> leaseCommands(String... commands) {
+        List<ByteBuffer> leased = new ArrayList<>();
+
+        for (String command : commands) {
+            leased.add(leaseCommand(command));
+        }
+
+        return leased;
+    }
+    private static String getServerResponse(ChunkedReply reply) {
+        ByteArrayOutputStream joined = new ByteArrayOutputStream();
+
+        while (reply.hasNext()) {
+            ByteBuffer frame = reply.nextFrame();
+            byte[] payload = new byte[frame.remaining() - Integer.BYTES];
+
+            frame.position(Integer.BYTES).get(payload);
+            joined.writeBytes(payload);
+            BufferPool.shared().release(frame);
+        }
+
+        return joined.toString(StandardCharsets.UTF_8);
+    }
+    private static List<String> getServerResponses(List<ChunkedReply> replies) {
+        List<String> responses = new ArrayList<>();
+
+        for (ChunkedReply reply : replies) {
+            responses.add(getServerResponse(reply));
+        }
+
+        return responses;
+    }
+    private CommandDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new CommandDispatcher(new CommandExecutor(), SHARDS_COUNT);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        dispatcher.close();
+    }
+
+    @Test
+    void testBatchMovedToShardOfLoggedUserKeepsItsOrder() {
+        List<String> responses = getServerResponses(dispatcher.dispatch(PORT1, leaseCommands(
+                "register #name:a #password:a", "login #name:a #password:a", "add-task #name:Buy milk"
+                , "get-task #name:Buy milk")).join());
+
+        assertEquals(List.of("{New User was added successfully.Now you can log in}\n"
+                , "{Successfully logged in. Now you can perform operations with your account}"
+                , "{Task was added successfully. Now you can perform actions with it}"
+                , "Task{name='Buy milk', date= , dueDate= , description= }"), responses, "Error - commands of" +
+                " a batch need to be executed in order, also after the batch moves to the shard of the logged user");
+    }
+
+    @Test
+    void testCommandsOfOneUserFromDifferentClientsAreExecutedInOrder() {
+        dispatcher.dispatch(PORT1, leaseCommands("register #name:a #password:a", "login #name:a #password:a"))
+                .join();
+        dispatcher.dispatch(PORT2, leaseCommands("login #name:a #password:a")).join();
+
+        List<CompletableFuture<List<ChunkedReply>>> found = new ArrayList<>();
+
+        for (int i = 0; i < TASKS_COUNT; i++) {
+            dispatcher.dispatch(PORT1, leaseCommands("add-task #name:Task" + i));
+            found.add(dispatcher.dispatch(PORT2, leaseCommands("get-task #name:Task" + i)));
+        }
+
+        for (int i = 0; i < TASKS_COUNT; i++) {
+            assertEquals("Task{name='Task" + i + "', date= , dueDate= , description= }"
+                    , getServerResponse(found.get(i).join().get(0)), "Error - command of a user need to see" +
+                    " the changes of the commands dispatched before it from another client of the same user");
+        }
+    }
+
+    @Test
+    void testRejectedBatchIsRepliedWithErrorForEveryCommand() {
+        dispatcher.close();
+
+        int leasedBefore = BufferPool.shared().metrics().leased();
+        List<ByteBuffer> commands = leaseCommands("help", "help-task", "help-collaboration");
+        CompletableFuture<List<ChunkedReply>> result = dispatcher.dispatch(PORT1, commands);
+
+        assertTrue(result.isCompletedExceptionally(), "Error - batch can't be executed after the dispatcher" +
+                " was closed");
+        assertEquals(leasedBefore, BufferPool.shared().metrics().leased(), "Error - commands, that weren't" +
+                " executed, need to be released back to the pool");
+
+        List<ChunkedReply> replies = result
+                .handle((done, failure) -> dispatcher.failedReplies(PORT1, commands.size(), failure)).join();
+
+        assertEquals(commands.size(), replies.size(), "Error - every command of a failed batch need to get" +
+                " its reply, so pipelining client stays in order");
+        for (ChunkedReply reply : replies) {
+            assertTrue(getServerResponse(reply).startsWith("{Command of client <1337> wasn't executed")
+                    , "Error - reply of a failed command need to explain why it wasn't executed");
+        }
+    }
+}
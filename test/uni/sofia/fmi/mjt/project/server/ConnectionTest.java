@@ -0,0 +1,103 @@
+package uni.sofia.fmi.mjt.project.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uni.sofia.fmi.mjt.project.buffers.BufferPool;
+import uni.sofia.fmi.mjt.project.commands.CommandExecutor;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConnectionTest {
+    private static final int REPLY_SIZE = 64 << 10;
+    private static final int MAX_REPLIES = 1024;
+    private static final int READ_SIZE = 64 << 10;
+    private static final int COMMAND_SIZE = 1000;
+    private static final int MAX_COMMANDS = 1024;
+    private final CommandExecutor executer = new CommandExecutor();
+    private SocketChannel client;
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        try (ServerSocketChannel serverSocketChannel = ServerSocketChannel.open()) {
+            serverSocketChannel.bind(new InetSocketAddress("localhost", 0));
+            client = SocketChannel.open(serverSocketChannel.getLocalAddress());
+
+            SocketChannel accepted = serverSocketChannel.accept();
+            accepted.configureBlocking(false);
+            connection = new Connection(accepted);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        connection.close();
+        client.close();
+    }
+
+    @Test
+    void testFlushOfWholeOutputReportsItIsDone() throws IOException {
+        connection.enqueue(executer.replyMessage("help", connection.getRemotePort()));
+
+        assertTrue(connection.flush(), "Error - flush, that wrote the whole output, need to report it is done," +
+                " so the write interest can be cleared");
+        assertFalse(connection.hasPendingOutput(), "Error - written output can't stay queued");
+        assertEquals(0L, connection.getQueuedOutputBytes(), "Error - written output can't stay counted");
+    }
+
+    @Test
+    void testFlushReportsItIsDoneOnceFullSendBufferDrains() throws IOException {
+        int replies = 0;
+
+        do {
+            connection.enqueue(executer.replyMessage("b".repeat(REPLY_SIZE), connection.getRemotePort()));
+        } while (connection.flush() && ++replies < MAX_REPLIES);
+
+        assertTrue(connection.hasPendingOutput(), "Error - output, that doesn't fit in the send buffer," +
+                " need to stay queued");
+
+        ByteBuffer in = ByteBuffer.allocate(READ_SIZE);
+        boolean flushed;
+
+        do {
+            client.read(in.clear());
+            flushed = connection.flush();
+
+            assertEquals(!connection.hasPendingOutput(), flushed, "Error - flush need to report it is done" +
+                    " exactly when no output is left");
+        } while (!flushed);
+
+        assertEquals(0L, connection.getQueuedOutputBytes(), "Error - drained output can't stay counted");
+    }
+
+    @Test
+    void testCommandBacklogIsBoundedUntilCommandsArePolled() {
+        byte[] command = new byte[COMMAND_SIZE];
+        int added = 0;
+
+        while (!connection.isCommandBacklogFull() && added < MAX_COMMANDS) {
+            connection.addCommand(ByteBuffer.wrap(command));
+            added++;
+        }
+
+        assertTrue(connection.isCommandBacklogFull(), "Error - commands, that wait for the executing batch," +
+                " need to fill the backlog, so reading can be paused");
+        assertTrue(added > 1, "Error - backlog need to hold more than one command");
+
+        List<ByteBuffer> batch = connection.pollCommands();
+
+        assertEquals(added, batch.size(), "Error - all waiting commands need to be polled as one batch");
+        assertFalse(connection.isCommandBacklogFull(), "Error - polled commands can't be counted in the backlog");
+        batch.forEach(BufferPool.shared()::release);
+    }
+}
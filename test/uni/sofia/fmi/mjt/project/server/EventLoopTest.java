@@ -0,0 +1,148 @@
+package uni.sofia.fmi.mjt.project.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uni.sofia.fmi.mjt.project.buffers.BufferPool;
+import uni.sofia.fmi.mjt.project.commands.CommandExecutor;
+import uni.sofia.fmi.mjt.project.commands.InputRules;
+import uni.sofia.fmi.mjt.project.protocol.FrameCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class EventLoopTest {
+    private static final int WORKERS_COUNT = 2;
+    private static final int CLIENTS_COUNT = 4;
+    private static final int SHARDS_COUNT = 2;
+    private static final int READ_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(5);
+    private static final long IDLE_TIMEOUT = TimeUnit.MINUTES.toMillis(5);
+    private static void startDaemon(EventLoop loop) {
+        Thread thread = new Thread(loop, loop.getName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+    private static byte[] toFrames(String... commands) {
+        ByteArrayOutputStream frames = new ByteArrayOutputStream();
+
+        for (String command : commands) {
+            ByteBuffer frame = FrameCodec.encode(command);
+            byte[] bytes = new byte[frame.remaining()];
+
+            frame.get(bytes);
+            frames.writeBytes(bytes);
+            BufferPool.shared().release(frame);
+        }
+
+        return frames.toByteArray();
+    }
+    private static String readReply(ReadableByteChannel in) throws IOException {
+        ByteBuffer reply = FrameCodec.readReply(in, ByteBuffer.allocate(FrameCodec.HEADER_SIZE));
+        byte[] bytes = new byte[reply.remaining()];
+
+        reply.get(bytes);
+        BufferPool.shared().release(reply);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    private final List<Socket> clients = new ArrayList<>();
+    private final List<String> pickedWorkers = Collections.synchronizedList(new ArrayList<>());
+    private ServerSocketChannel serverSocketChannel;
+    private CommandDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        OutputLimits outputLimits = new OutputLimits();
+        EventLoop[] workers = new EventLoop[WORKERS_COUNT];
+
+        dispatcher = new CommandDispatcher(new CommandExecutor(), SHARDS_COUNT);
+        for (int i = 0; i < WORKERS_COUNT; i++) {
+            workers[i] = new EventLoop("worker-" + i, dispatcher, outputLimits, IDLE_TIMEOUT);
+            startDaemon(workers[i]);
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        EventLoop boss = new EventLoop("boss", dispatcher, outputLimits, IDLE_TIMEOUT);
+
+        serverSocketChannel = ServerSocketChannel.open().bind(new InetSocketAddress("localhost", 0));
+        boss.listen(serverSocketChannel, () -> {
+            EventLoop picked = workers[Math.floorMod(next.getAndIncrement(), workers.length)];
+            pickedWorkers.add(picked.getName());
+
+            return picked;
+        });
+        startDaemon(boss);
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        for (Socket client : clients) {
+            client.close();
+        }
+
+        serverSocketChannel.close();
+        dispatcher.close();
+    }
+
+    private Socket connect() throws IOException {
+        Socket client = new Socket();
+
+        client.connect(serverSocketChannel.getLocalAddress());
+        client.setSoTimeout(READ_TIMEOUT);
+        clients.add(client);
+
+        return client;
+    }
+
+    @Test
+    void testAcceptedClientsAreServedByWorkerLoops() throws IOException {
+        for (int i = 0; i < CLIENTS_COUNT; i++) {
+            Socket client = connect();
+
+            client.getOutputStream().write(toFrames("help"));
+            assertEquals(InputRules.HELP_INFO, readReply(Channels.newChannel(client.getInputStream()))
+                    , "Error - every accepted client need to be served by the worker it was handed to");
+        }
+
+        assertEquals(List.of("worker-0", "worker-1", "worker-0", "worker-1"), pickedWorkers, "Error - acceptor" +
+                " need to hand every accepted client to the next worker loop");
+    }
+
+    @Test
+    void testPipelinedCommandsAreRepliedInOrder() throws IOException {
+        Socket client = connect();
+        byte[] frames = toFrames("register #name:a #password:a", "login #name:a #password:a"
+                , "add-task #name:Buy milk", "get-task #name:Buy milk", "logout");
+
+        for (byte b : frames) {
+            client.getOutputStream().write(b);
+        }
+
+        ReadableByteChannel in = Channels.newChannel(client.getInputStream());
+
+        assertEquals("{New User was added successfully.Now you can log in}\n", readReply(in)
+                , "Error - replies need to be sent in the order of the commands");
+        assertEquals("{Successfully logged in. Now you can perform operations with your account}", readReply(in)
+                , "Error - replies need to be sent in the order of the commands");
+        assertEquals("{Task was added successfully. Now you can perform actions with it}", readReply(in)
+                , "Error - replies need to be sent in the order of the commands");
+        assertEquals("Task{name='Buy milk', date= , dueDate= , description= }", readReply(in)
+                , "Error - command need to see the changes of the commands sent before it");
+        assertEquals("{Successfully logged out from the account}", readReply(in)
+                , "Error - replies need to be sent in the order of the commands");
+    }
+}
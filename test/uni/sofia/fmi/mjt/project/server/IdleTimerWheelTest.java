@@ -0,0 +1,105 @@
+package uni.sofia.fmi.mjt.project.server;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class IdleTimerWheelTest {
+    private static final long TICK_MILLIS = 1000;
+    private static final long TIMEOUT_MILLIS = 5000;
+    private static final long LONG_TIMEOUT_MILLIS = 600_000;
+    private static final long START_MILLIS = 0;
+    private static final long LATER_ACTIVITY_MILLIS = 3000;
+    private IdleTimerWheel<TestEntry> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new IdleTimerWheel<>(TICK_MILLIS, TIMEOUT_MILLIS, START_MILLIS);
+    }
+
+    @Test
+    void testIdleEntryExpiresAfterTimeout() {
+        TestEntry entry = new TestEntry(START_MILLIS);
+        wheel.schedule(entry);
+
+        assertEquals(List.of(), wheel.advance(TIMEOUT_MILLIS - 1), "Error - entry can't expire before its timeout");
+        assertEquals(List.of(entry), wheel.advance(TIMEOUT_MILLIS), "Error - idle entry need to expire once its" +
+                " timeout passes");
+        assertEquals(List.of(), wheel.advance(3 * TIMEOUT_MILLIS), "Error - expired entry need to be returned once");
+    }
+
+    @Test
+    void testActiveEntryIsRescheduled() {
+        TestEntry entry = new TestEntry(START_MILLIS);
+        wheel.schedule(entry);
+        entry.lastActivity = LATER_ACTIVITY_MILLIS;
+
+        assertEquals(List.of(), wheel.advance(TIMEOUT_MILLIS), "Error - entry active after it was scheduled" +
+                " can't expire at its first deadline");
+        assertEquals(List.of(), wheel.advance(LATER_ACTIVITY_MILLIS + TIMEOUT_MILLIS - 1), "Error - rescheduled" +
+                " entry can't expire before the timeout from its last activity");
+        assertEquals(List.of(entry), wheel.advance(LATER_ACTIVITY_MILLIS + TIMEOUT_MILLIS), "Error - rescheduled" +
+                " entry need to expire after the timeout from its last activity");
+    }
+
+    @Test
+    void testClosedEntryIsDropped() {
+        TestEntry entry = new TestEntry(START_MILLIS);
+        wheel.schedule(entry);
+        entry.open = false;
+
+        assertEquals(List.of(), wheel.advance(TIMEOUT_MILLIS), "Error - closed entry can't be returned as idle");
+
+        entry.open = true;
+
+        assertEquals(List.of(), wheel.advance(3 * TIMEOUT_MILLIS), "Error - closed entry need to be dropped" +
+                " from the wheel");
+    }
+
+    @Test
+    void testTimeoutLongerThanWheelExpiresOnTime() {
+        IdleTimerWheel<TestEntry> longWheel = new IdleTimerWheel<>(TICK_MILLIS, LONG_TIMEOUT_MILLIS, START_MILLIS);
+        TestEntry entry = new TestEntry(START_MILLIS);
+        longWheel.schedule(entry);
+
+        assertEquals(List.of(), longWheel.advance(LONG_TIMEOUT_MILLIS - 1), "Error - entry, whose deadline is" +
+                " more than one turn of the wheel away, can't expire when its slot comes for the first time");
+        assertEquals(List.of(entry), longWheel.advance(LONG_TIMEOUT_MILLIS), "Error - entry need to expire" +
+                " at its deadline, also when it is more than one turn of the wheel away");
+    }
+
+    @Test
+    void testEntriesExpireInTheirOwnTicks() {
+        TestEntry first = new TestEntry(START_MILLIS);
+        TestEntry second = new TestEntry(START_MILLIS + 2 * TICK_MILLIS);
+        wheel.schedule(first);
+        wheel.schedule(second);
+
+        assertEquals(List.of(first), wheel.advance(TIMEOUT_MILLIS + TICK_MILLIS), "Error - only entries, whose" +
+                " timeout passed, need to expire");
+        assertEquals(List.of(second), wheel.advance(TIMEOUT_MILLIS + 2 * TICK_MILLIS), "Error - every entry need" +
+                " to expire at its own deadline");
+    }
+
+    private static class TestEntry implements IdleTimerWheel.Entry {
+        private long lastActivity;
+        private boolean open = true;
+
+        TestEntry(long lastActivity) {
+            this.lastActivity = lastActivity;
+        }
+
+        @Override
+        public long getLastActivity() {
+            return lastActivity;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package uni.sofia.fmi.mjt.project.server;
+
+import org.junit.jupiter.api.Test;
+import uni.sofia.fmi.mjt.project.commands.CommandExecutor;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OutputLimitsTest {
+    private static final long LOW_WATERMARK = 1 << 10;
+    private static final long HIGH_WATERMARK = 4 << 10;
+    private static final long HARD_LIMIT = 16 << 10;
+    private static final int PORT1 = 1337;
+    private static final int REPLY_SIZE = 3000;
+    private static final int REPLIES_ABOVE_HARD_LIMIT = (int) (HARD_LIMIT / REPLY_SIZE) + 1;
+    private final OutputLimits limits = new OutputLimits(LOW_WATERMARK, HIGH_WATERMARK, HARD_LIMIT);
+
+    @Test
+    void testReadingIsPausedAndResumedWithHysteresis() {
+        assertFalse(limits.shouldPause(HIGH_WATERMARK - 1), "Error - reading can't be paused below" +
+                " the high watermark");
+        assertTrue(limits.shouldPause(HIGH_WATERMARK), "Error - reading need to be paused at the high watermark");
+        assertFalse(limits.shouldResume(LOW_WATERMARK + 1), "Error - paused reading can't be resumed above" +
+                " the low watermark");
+        assertTrue(limits.shouldResume(LOW_WATERMARK), "Error - paused reading need to be resumed once the queue" +
+                " drains to the low watermark");
+    }
+
+    @Test
+    void testOnlyOutputAboveHardLimitIsExceeded() {
+        assertFalse(limits.isExceeded(HARD_LIMIT), "Error - output up to the hard limit is allowed");
+        assertTrue(limits.isExceeded(HARD_LIMIT + 1), "Error - output above the hard limit need to be exceeded");
+    }
+
+    @Test
+    void testLimitsOutOfOrderAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new OutputLimits(-1, HIGH_WATERMARK, HARD_LIMIT)
+                , "Error - negative low watermark can't be accepted");
+        assertThrows(IllegalArgumentException.class, () -> new OutputLimits(HIGH_WATERMARK, LOW_WATERMARK
+                , HARD_LIMIT), "Error - low watermark can't be above the high one");
+        assertThrows(IllegalArgumentException.class, () -> new OutputLimits(LOW_WATERMARK, HARD_LIMIT
+                , HIGH_WATERMARK), "Error - high watermark can't be above the hard limit");
+    }
+
+    @Test
+    void testMetricsCountPausedReadsAndDisconnectedClients() {
+        limits.countPausedRead();
+        limits.countPausedRead();
+        limits.countDisconnectedClient();
+
+        assertEquals(new OutputLimits.Metrics(2, 1), limits.metrics(), "Error - every paused read and" +
+                " disconnected client need to be counted");
+    }
+
+    @Test
+    void testQueuedRepliesOfConnectionReachWatermarks() throws IOException {
+        CommandExecutor executer = new CommandExecutor();
+        Connection connection = new Connection(SocketChannel.open());
+
+        try {
+            connection.enqueue(executer.replyMessage("a".repeat(REPLY_SIZE), PORT1));
+
+            assertFalse(limits.shouldPause(connection.getQueuedOutputBytes()), "Error - one reply below the high" +
+                    " watermark can't pause reading");
+
+            connection.enqueue(executer.replyMessage("b".repeat(REPLY_SIZE), PORT1));
+
+            assertTrue(limits.shouldPause(connection.getQueuedOutputBytes()), "Error - queued replies need to be" +
+                    " counted by their size, so they can reach the high watermark");
+
+            for (int i = 2; i < REPLIES_ABOVE_HARD_LIMIT; i++) {
+                connection.enqueue(executer.replyMessage("c".repeat(REPLY_SIZE), PORT1));
+            }
+
+            assertTrue(limits.isExceeded(connection.getQueuedOutputBytes()), "Error - client, that doesn't read" +
+                    " its replies, need to exceed the hard limit");
+        } finally {
+            connection.close();
+        }
+
+        assertEquals(0L, connection.getQueuedOutputBytes(), "Error - closed connection can't keep queued output");
+    }
+}